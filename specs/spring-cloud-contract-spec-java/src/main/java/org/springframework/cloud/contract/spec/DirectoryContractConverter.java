@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.spec;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ContractConverter} that converts all accepted files of a directory at once, e.g.
+ * to set up its compiler only once for them. The scanner of contracts passes such a
+ * converter all the files of a directory that it should convert.
+ *
+ * @param <T> - type to which we want to convert the contract
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+public interface DirectoryContractConverter<T> extends ContractConverter<T> {
+
+	/**
+	 * Converts the given files of the same directory to their {@link Contract}
+	 * representations.
+	 * @param files - accepted files of the same directory
+	 * @return - {@link Contract} representations per file, in the order of the files
+	 */
+	Map<File, Collection<Contract>> convertFrom(List<File> files);
+
+}
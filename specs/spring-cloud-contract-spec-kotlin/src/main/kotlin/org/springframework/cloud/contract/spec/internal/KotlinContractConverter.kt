@@ -18,17 +18,25 @@ package org.springframework.cloud.contract.spec.internal
 
 import org.apache.commons.lang3.ObjectUtils
 import org.springframework.cloud.contract.spec.Contract
-import org.springframework.cloud.contract.spec.ContractConverter
+import org.springframework.cloud.contract.spec.DirectoryContractConverter
 import java.io.File
 import java.net.URLClassLoader.newInstance
+import java.security.MessageDigest
+import java.util.Collections
+import java.util.HexFormat
+import java.util.WeakHashMap
 import java.util.concurrent.atomic.AtomicInteger
+import kotlin.script.experimental.api.CompiledScript
 import kotlin.script.experimental.api.EvaluationResult
 import kotlin.script.experimental.api.ResultValue
 import kotlin.script.experimental.api.ResultWithDiagnostics
 import kotlin.script.experimental.api.ScriptCompilationConfiguration
+import kotlin.script.experimental.api.ScriptEvaluationConfiguration
+import kotlin.script.experimental.api.onSuccess
 import kotlin.script.experimental.host.toScriptSource
 import kotlin.script.experimental.jvm.dependenciesFromCurrentContext
 import kotlin.script.experimental.jvm.jvm
+import kotlin.script.experimental.jvm.updateClasspath
 import kotlin.script.experimental.jvmhost.BasicJvmScriptingHost
 
 /**
@@ -37,7 +45,7 @@ import kotlin.script.experimental.jvmhost.BasicJvmScriptingHost
  * @author Tim Ysewyn
  * @since 2.2.0
  */
-class KotlinContractConverter : ContractConverter<List<Contract>> {
+class KotlinContractConverter : DirectoryContractConverter<List<Contract>> {
 
 	private val ext = "kts"
 
@@ -52,8 +60,25 @@ class KotlinContractConverter : ContractConverter<List<Contract>> {
 	}
 
 	override fun convertFrom(file: File): Collection<Contract> {
-		val eval = withUpdatedClassloader(file) {
-			BasicJvmScriptingHost().eval(file.toScriptSource(), ScriptWithCurrentClasspathConfiguration(), null)
+		return withUpdatedClassloader(file.absoluteFile.parentFile) { evaluate(file, this) }
+	}
+
+	/**
+	 * Evaluates the files of each directory with a single class loader and compilation configuration.
+	 */
+	override fun convertFrom(files: List<File>): Map<File, Collection<Contract>> {
+		val contracts = HashMap<File, Collection<Contract>>()
+		files.groupBy { it.absoluteFile.parentFile }.forEach { (directory, filesOfDirectory) ->
+			withUpdatedClassloader(directory) {
+				filesOfDirectory.forEach { contracts[it] = evaluate(it, this) }
+			}
+		}
+		return files.associateWith { contracts.getValue(it) }
+	}
+
+	private fun evaluate(file: File, classLoader: ClassLoader): Collection<Contract> {
+		val eval = compile(file, classLoader).onSuccess {
+			host.runInCoroutineContext { host.evaluator(it, evaluationConfiguration) }
 		}
 		when (eval) {
 			is ResultWithDiagnostics.Success<*> -> {
@@ -71,6 +96,33 @@ class KotlinContractConverter : ContractConverter<List<Contract>> {
 		}
 	}
 
+	private fun compile(file: File, classLoader: ClassLoader): ResultWithDiagnostics<CompiledScript> {
+		val configuration = compilationConfiguration(file, classLoader)
+		// the script class name is taken from the file name
+		val key = ScriptKey(configuration, sha256(file.name + "\n" + file.readText()))
+		compiledScripts[key]?.let { return ResultWithDiagnostics.Success(it) }
+		val compiled = host.runInCoroutineContext { host.compiler(file.toScriptSource(), configuration) }
+		if (compiled is ResultWithDiagnostics.Success) {
+			compiledScripts[key] = compiled.value
+		}
+		return compiled
+	}
+
+	private fun compilationConfiguration(file: File, classLoader: ClassLoader): ScriptCompilationConfiguration {
+		// scanning the whole classpath is expensive, do it once per parent class loader
+		// and only append the contracts directory for each script
+		val parent = classLoader.parent
+		val base = baseConfigurations.getOrPut(parent) {
+			withContextClassLoader(parent) { ScriptWithCurrentClasspathConfiguration() }
+		}
+		return ScriptCompilationConfiguration(base) {
+			updateClasspath(listOf(file.absoluteFile.parentFile))
+		}
+	}
+
+	private fun sha256(text: String): String =
+		HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.toByteArray()))
+
 	private fun withName(file: File, contracts: Collection<Contract>): Collection<Contract> {
 		val counter = AtomicInteger(0)
 		return contracts.onEach { contract ->
@@ -89,17 +141,44 @@ class KotlinContractConverter : ContractConverter<List<Contract>> {
 
 	override fun convertTo(contract: Collection<Contract>) = contract.toList()
 
-	private fun withUpdatedClassloader(file: File, block: ClassLoader.() -> Any): Any {
+	private fun <T> withUpdatedClassloader(directory: File, block: ClassLoader.() -> T): T {
+		val tempClassLoader = newInstance(arrayOf(directory.toURI().toURL()), Thread.currentThread().contextClassLoader)
+		return withContextClassLoader(tempClassLoader) { tempClassLoader.block() }
+	}
+
+	private fun <T> withContextClassLoader(classLoader: ClassLoader, block: () -> T): T {
 		val currentClassLoader = Thread.currentThread().contextClassLoader
 		try {
-			val tempClassLoader = newInstance(arrayOf(file.parentFile.toURI().toURL()), currentClassLoader)
-			Thread.currentThread().contextClassLoader = tempClassLoader
-			return tempClassLoader.block()
+			Thread.currentThread().contextClassLoader = classLoader
+			return block()
 		} finally {
 			Thread.currentThread().contextClassLoader = currentClassLoader
 		}
 	}
 
+	private companion object {
+
+		private const val MAX_CACHED_SCRIPTS = 256
+
+		private val host = BasicJvmScriptingHost()
+
+		private val evaluationConfiguration = ScriptEvaluationConfiguration()
+
+		private val baseConfigurations: MutableMap<ClassLoader, ScriptCompilationConfiguration> =
+			Collections.synchronizedMap(WeakHashMap())
+
+		private val compiledScripts: MutableMap<ScriptKey, CompiledScript> =
+			Collections.synchronizedMap(object : LinkedHashMap<ScriptKey, CompiledScript>(MAX_CACHED_SCRIPTS, 0.75f, true) {
+				override fun removeEldestEntry(eldest: MutableMap.MutableEntry<ScriptKey, CompiledScript>?) =
+					size > MAX_CACHED_SCRIPTS
+			})
+	}
+
+	/**
+	 * A script is reused only when the same sources get compiled against the same classpath.
+	 */
+	private data class ScriptKey(val configuration: ScriptCompilationConfiguration, val sourcesHash: String)
+
 	class ScriptWithCurrentClasspathConfiguration : ScriptCompilationConfiguration(
 		{
 			jvm {
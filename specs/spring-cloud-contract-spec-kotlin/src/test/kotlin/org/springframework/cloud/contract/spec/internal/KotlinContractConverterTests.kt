@@ -17,6 +17,7 @@
 package org.springframework.cloud.contract.spec.internal
 
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.springframework.cloud.contract.spec.Contract
 import java.io.File
 import kotlin.test.assertEquals
@@ -53,5 +54,32 @@ class KotlinContractConverterTests {
         contracts.forEach(Contract::assertContract)
     }
 
+    @Test
+    fun `should convert the same contract definition more than once`() {
+        val converter = KotlinContractConverter()
+        val first = converter.convertFrom(file("contracts/singleDefinition.kts"))
+        val second = converter.convertFrom(file("contracts/singleDefinition.kts"))
+        assertEquals(first, second)
+    }
+
+    @Test
+    fun `should convert the same contract definition from another directory`(@TempDir directory: File) {
+        val converter = KotlinContractConverter()
+        val copy = file("contracts/singleDefinition.kts").copyTo(File(directory, "singleDefinition.kts"))
+        val first = converter.convertFrom(file("contracts/singleDefinition.kts"))
+        val second = converter.convertFrom(copy)
+        assertEquals(first, second)
+    }
+
+    @Test
+    fun `should convert all contract definitions of a directory at once`() {
+        val converter = KotlinContractConverter()
+        val files = listOf(file("contracts/singleDefinition.kts"), file("contracts/multipleDefinitions.kts"))
+        val contracts = converter.convertFrom(files)
+        assertEquals(files, contracts.keys.toList())
+        assertEquals(converter.convertFrom(files[0]), contracts[files[0]])
+        assertEquals(2, contracts.getValue(files[1]).size)
+    }
+
     private fun file(filename: String) = File(javaClass.classLoader.getResource(filename)!!.toURI())
 }
\ No newline at end of file
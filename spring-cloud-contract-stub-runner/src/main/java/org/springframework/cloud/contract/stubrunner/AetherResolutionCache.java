@@ -0,0 +1,246 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.StringUtils;
+
+/**
+ * TTL bounded cache of version range and artifact resolutions done by the
+ * {@link AetherStubDownloader}. Entries are kept in memory and are shared by all stub
+ * runners of a JVM. Optionally entries are also stored on disk, so that they can be
+ * reused by other JVMs (e.g. test forks).
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class AetherResolutionCache {
+
+	/**
+	 * For how long should the resolved versions and artifacts be cached (e.g.
+	 * {@code 10m}). Setting it enables the cache.
+	 */
+	static final String TTL_PROPERTY = "stubs.resolution-cache.ttl";
+
+	/**
+	 * Directory where the resolutions should be stored, so that other JVMs can reuse
+	 * them.
+	 */
+	static final String DIRECTORY_PROPERTY = "stubs.resolution-cache.directory";
+
+	private static final Log log = LogFactory.getLog(AetherResolutionCache.class);
+
+	private static final String STAGING_PREFIX = ".staging-";
+
+	private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+	private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+	private final long ttlMillis;
+
+	private final Path directory;
+
+	private final Map<String, Entry> entries;
+
+	AetherResolutionCache(Duration ttl, Path directory) {
+		this(ttl, directory, ENTRIES);
+	}
+
+	/**
+	 * @param ttl for how long the entries are valid
+	 * @param directory directory where the entries are stored, {@code null} to keep them
+	 * in memory only
+	 * @param entries in memory entries, shared by the caches of a JVM unless a new map is
+	 * passed
+	 */
+	AetherResolutionCache(Duration ttl, Path directory, Map<String, Entry> entries) {
+		this.ttlMillis = ttl.toMillis();
+		this.directory = directory;
+		this.entries = entries;
+	}
+
+	/**
+	 * @param options stub runner options
+	 * @return cache or {@code null} when the cache was not configured
+	 */
+	static AetherResolutionCache fromOptions(StubRunnerOptions options) {
+		Map<String, String> properties = options.getProperties();
+		String ttl = StubRunnerPropertyUtils.getProperty(properties, TTL_PROPERTY);
+		if (!StringUtils.hasText(ttl)) {
+			return null;
+		}
+		String directory = StubRunnerPropertyUtils.getProperty(properties, DIRECTORY_PROPERTY);
+		if (log.isDebugEnabled()) {
+			log.debug("Will cache resolved stub versions and artifacts for [" + ttl + "]"
+					+ (StringUtils.hasText(directory) ? " under [" + directory + "]" : ""));
+		}
+		return new AetherResolutionCache(DurationStyle.detectAndParse(ttl),
+				StringUtils.hasText(directory) ? new File(directory).toPath() : null);
+	}
+
+	/**
+	 * @param key key of the version resolution
+	 * @param resolver resolves the version on cache miss
+	 * @return resolved version
+	 */
+	String version(String key, Supplier<String> resolver) {
+		return get("version:" + key, resolver, version -> true);
+	}
+
+	/**
+	 * @param key key of the artifact resolution
+	 * @param resolver resolves the artifact on cache miss
+	 * @return resolved artifact file
+	 */
+	File artifact(String key, Supplier<File> resolver) {
+		String path = get("artifact:" + key, () -> {
+			File file = resolver.get();
+			return file != null ? file.getAbsolutePath() : null;
+		}, cached -> new File(cached).isFile());
+		return path != null ? new File(path) : null;
+	}
+
+	private String get(String key, Supplier<String> resolver, Predicate<String> valid) {
+		Entry entry = this.entries.get(key);
+		if (isUsable(entry, valid)) {
+			return entry.value;
+		}
+		// concurrent resolutions of the same artifact are done only once
+		synchronized (LOCKS.computeIfAbsent(key, s -> new Object())) {
+			entry = this.entries.get(key);
+			if (isUsable(entry, valid)) {
+				return entry.value;
+			}
+			entry = read(key);
+			if (isUsable(entry, valid)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Reusing [" + entry.value + "] resolved by another process for [" + key + "]");
+				}
+				this.entries.put(key, entry);
+				return entry.value;
+			}
+			String value = resolver.get();
+			if (value != null) {
+				entry = new Entry(value, System.currentTimeMillis());
+				this.entries.put(key, entry);
+				write(key, entry);
+			}
+			return value;
+		}
+	}
+
+	private boolean isUsable(Entry entry, Predicate<String> valid) {
+		return entry != null && System.currentTimeMillis() - entry.timestamp < this.ttlMillis
+				&& valid.test(entry.value);
+	}
+
+	private Entry read(String key) {
+		if (this.directory == null) {
+			return null;
+		}
+		Path file = this.directory.resolve(hash(key));
+		try {
+			if (!Files.isRegularFile(file)) {
+				return null;
+			}
+			return new Entry(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+					Files.getLastModifiedTime(file).toMillis());
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to read cached resolution [" + file + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	private void write(String key, Entry entry) {
+		if (this.directory == null) {
+			return;
+		}
+		Path staging = this.directory.resolve(STAGING_PREFIX + UUID.randomUUID());
+		try {
+			Files.createDirectories(this.directory);
+			Files.write(staging, entry.value.getBytes(StandardCharsets.UTF_8));
+			Files.move(staging, this.directory.resolve(hash(key)), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to store resolution of [" + key + "] in [" + this.directory + "]", ex);
+			}
+		}
+		finally {
+			deleteQuietly(staging);
+		}
+	}
+
+	private static void deleteQuietly(Path staging) {
+		// the staging file is left over only when it couldn't be moved
+		try {
+			Files.deleteIfExists(staging);
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to delete [" + staging + "]", ex);
+			}
+		}
+	}
+
+	private static String hash(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	static final class Entry {
+
+		private final String value;
+
+		private final long timestamp;
+
+		private Entry(String value, long timestamp) {
+			this.value = value;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+}
@@ -37,6 +37,7 @@ import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.Proxy;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
@@ -67,6 +68,12 @@ public class AetherStubDownloader implements StubDownloader {
 
 	private static final String LATEST_VERSION_IN_IVY = "+";
 
+	/**
+	 * Whether stub mappings should be read directly from the stub JAR instead of
+	 * unpacking it.
+	 */
+	static final String READ_FROM_JAR_PROPERTY = "stubs.read-from-jar";
+
 	// Preloading class for the shutdown hook not to throw ClassNotFound
 	private static final Class CLAZZ = TemporaryFileStorage.class;
 
@@ -82,6 +89,12 @@ public class AetherStubDownloader implements StubDownloader {
 
 	private final Settings settings;
 
+	private final UnpackedStubsCache unpackedStubsCache;
+
+	private final AetherResolutionCache resolutionCache;
+
+	private final boolean readFromJar;
+
 	public AetherStubDownloader(StubRunnerOptions stubRunnerOptions) {
 		this.deleteStubsAfterTest = stubRunnerOptions.isDeleteStubsAfterTest();
 		if (log.isDebugEnabled()) {
@@ -108,6 +121,11 @@ public class AetherStubDownloader implements StubDownloader {
 		this.repositorySystem = AetherFactories.repositorySystemOr(null);
 		this.workOffline = stubRunnerOptions.stubsMode == StubRunnerProperties.StubsMode.LOCAL;
 		this.session = newSession(this.repositorySystem, this.workOffline);
+		this.unpackedStubsCache = UnpackedStubsCache.fromOptions(stubRunnerOptions);
+		this.resolutionCache = AetherResolutionCache.fromOptions(stubRunnerOptions);
+		// generated mappings have to be written to the unpacked folder
+		this.readFromJar = !stubRunnerOptions.isGenerateStubs() && Boolean.parseBoolean(
+				StubRunnerPropertyUtils.getProperty(stubRunnerOptions.getProperties(), READ_FROM_JAR_PROPERTY));
 		registerShutdownHook();
 	}
 
@@ -128,6 +146,9 @@ public class AetherStubDownloader implements StubDownloader {
 			log.error("Remote repositories for stubs are not specified and work offline flag wasn't passed");
 		}
 		this.workOffline = false;
+		this.unpackedStubsCache = null;
+		this.resolutionCache = null;
+		this.readFromJar = false;
 		registerShutdownHook();
 	}
 
@@ -139,6 +160,17 @@ public class AetherStubDownloader implements StubDownloader {
 		return tmpDirWhereStubsWillBeUnzipped;
 	}
 
+	private File unpack(File stubJar, String classifier) {
+		if (this.readFromJar) {
+			// StubRepository reads the mappings straight from the JAR
+			return stubJar;
+		}
+		if (this.unpackedStubsCache != null) {
+			return this.unpackedStubsCache.unpacked(stubJar, classifier);
+		}
+		return unpackStubJarToATemporaryFolder(stubJar.toURI());
+	}
+
 	private boolean remoteReposMissing() {
 		return this.remoteRepos == null || this.remoteRepos.isEmpty();
 	}
@@ -198,13 +230,9 @@ public class AetherStubDownloader implements StubDownloader {
 			}
 			Artifact artifact = new DefaultArtifact(stubsGroup, stubsModule, classifier, ARTIFACT_EXTENSION,
 					resolvedVersion);
-			ArtifactRequest request = new ArtifactRequest(artifact, this.remoteRepos, null);
-			if (log.isDebugEnabled()) {
-				log.debug("Resolving artifact [" + artifact + "] using remote repositories " + this.remoteRepos);
-			}
-			ArtifactResult result = this.repositorySystem.resolveArtifact(this.session, request);
-			log.info("Resolved artifact [" + artifact + "] to " + result.getArtifact().getFile());
-			File temporaryFile = unpackStubJarToATemporaryFolder(result.getArtifact().getFile().toURI());
+			File artifactFile = resolveArtifact(artifact);
+			log.info("Resolved artifact [" + artifact + "] to " + artifactFile);
+			File temporaryFile = unpack(artifactFile, classifier);
 			log.info("Unpacked file to [" + temporaryFile + "]");
 			return temporaryFile;
 		}
@@ -219,6 +247,34 @@ public class AetherStubDownloader implements StubDownloader {
 		}
 	}
 
+	private File resolveArtifact(Artifact artifact) throws ArtifactResolutionException {
+		if (this.resolutionCache == null) {
+			return doResolveArtifact(artifact);
+		}
+		return this.resolutionCache.artifact(resolutionKey(artifact), () -> {
+			try {
+				return doResolveArtifact(artifact);
+			}
+			catch (ArtifactResolutionException ex) {
+				throw new IllegalStateException("Cannot resolve artifact [" + artifact + "]", ex);
+			}
+		});
+	}
+
+	private File doResolveArtifact(Artifact artifact) throws ArtifactResolutionException {
+		ArtifactRequest request = new ArtifactRequest(artifact, this.remoteRepos, null);
+		if (log.isDebugEnabled()) {
+			log.debug("Resolving artifact [" + artifact + "] using remote repositories " + this.remoteRepos);
+		}
+		ArtifactResult result = this.repositorySystem.resolveArtifact(this.session, request);
+		return result.getArtifact().getFile();
+	}
+
+	private String resolutionKey(Artifact artifact) {
+		return artifact + "@" + this.remoteRepos.stream().map(RemoteRepository::getUrl).toList() + "#offline="
+				+ this.workOffline;
+	}
+
 	private String getVersion(String stubsGroup, String stubsModule, String version, String classifier) {
 		if (!StringUtils.hasText(version) || LATEST_VERSION_IN_IVY.equals(version)) {
 			log.info("Desired version is [" + version + "] - will try to resolve the latest version");
@@ -251,6 +307,16 @@ public class AetherStubDownloader implements StubDownloader {
 
 	private String resolveHighestArtifactVersion(String stubsGroup, String stubsModule, String classifier,
 			String version) {
+		if (this.resolutionCache == null) {
+			return doResolveHighestArtifactVersion(stubsGroup, stubsModule, classifier, version);
+		}
+		Artifact artifact = new DefaultArtifact(stubsGroup, stubsModule, classifier, ARTIFACT_EXTENSION, version);
+		return this.resolutionCache.version(resolutionKey(artifact),
+				() -> doResolveHighestArtifactVersion(stubsGroup, stubsModule, classifier, version));
+	}
+
+	private String doResolveHighestArtifactVersion(String stubsGroup, String stubsModule, String classifier,
+			String version) {
 		Artifact artifact = new DefaultArtifact(stubsGroup, stubsModule, classifier, ARTIFACT_EXTENSION, version);
 		VersionRangeRequest versionRangeRequest = new VersionRangeRequest(artifact, this.remoteRepos, null);
 		VersionRangeResult rangeResult;
@@ -19,12 +19,19 @@ package org.springframework.cloud.contract.stubrunner;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
- * Tries to execute a closure with an available port from the given range.
+ * Tries to execute a closure with an available port from the given range. When
+ * {@link PortReservations} are passed, the ports are taken from the blocks reserved by
+ * this JVM instead of being picked at random.
  */
 class AvailablePortScanner {
 
@@ -32,21 +39,48 @@ class AvailablePortScanner {
 
 	private static final int MAX_RETRY_COUNT = 1000;
 
+	/**
+	 * Ports that are currently being bound by a callback in this JVM. Prevents two stubs
+	 * that are started in parallel from picking the same free port.
+	 */
+	private static final Set<Integer> PORTS_IN_PROGRESS = ConcurrentHashMap.newKeySet();
+
+	private static final AllocationMetrics METRICS = new AllocationMetrics();
+
 	private final int minPortNumber;
 
 	private final int maxPortNumber;
 
 	private final int maxRetryCount;
 
+	private final PortReservations portReservations;
+
 	AvailablePortScanner(int minPortNumber, int maxPortNumber) {
 		this(minPortNumber, maxPortNumber, MAX_RETRY_COUNT);
 	}
 
 	AvailablePortScanner(int minPortNumber, int maxPortNumber, int maxRetryCount) {
+		this(minPortNumber, maxPortNumber, maxRetryCount, null);
+	}
+
+	AvailablePortScanner(int minPortNumber, int maxPortNumber, PortReservations portReservations) {
+		this(minPortNumber, maxPortNumber, MAX_RETRY_COUNT, portReservations);
+	}
+
+	AvailablePortScanner(int minPortNumber, int maxPortNumber, int maxRetryCount,
+			PortReservations portReservations) {
 		checkPortRanges(minPortNumber, maxPortNumber);
 		this.minPortNumber = minPortNumber;
 		this.maxPortNumber = maxPortNumber;
 		this.maxRetryCount = maxRetryCount;
+		this.portReservations = portReservations;
+	}
+
+	/**
+	 * @return metrics of the port allocations done in this JVM
+	 */
+	static AllocationMetrics metrics() {
+		return METRICS;
 	}
 
 	private void checkPortRanges(int minPortNumber, int maxPortNumber) {
@@ -56,12 +90,25 @@ class AvailablePortScanner {
 	}
 
 	public <T> T tryToExecuteWithFreePort(PortCallback<T> closure) {
+		long start = System.nanoTime();
 		for (int i = 0; i < this.maxRetryCount; i++) {
 			try {
-				int numberOfPortsToBind = this.maxPortNumber - this.minPortNumber + 1;
-				int portToScan = new Random().nextInt(numberOfPortsToBind) + this.minPortNumber;
-				checkIfPortIsAvailable(portToScan);
-				return executeLogicForAvailablePort(portToScan, closure);
+				int portToScan = nextPortToScan();
+				if (!PORTS_IN_PROGRESS.add(portToScan)) {
+					continue;
+				}
+				try {
+					checkIfPortIsAvailable(portToScan);
+					T result = executeLogicForAvailablePort(portToScan, closure);
+					METRICS.allocated(i, System.nanoTime() - start);
+					if (log.isDebugEnabled()) {
+						log.debug("Allocated port [" + portToScan + "] after [" + i + "] retries. " + METRICS);
+					}
+					return result;
+				}
+				finally {
+					PORTS_IN_PROGRESS.remove(portToScan);
+				}
 			}
 			catch (IOException exception) {
 				if (log.isDebugEnabled()) {
@@ -69,9 +116,19 @@ class AvailablePortScanner {
 				}
 			}
 		}
+		METRICS.failed(this.maxRetryCount, System.nanoTime() - start);
 		throw new NoPortAvailableException(this.minPortNumber, this.maxPortNumber);
 	}
 
+	private int nextPortToScan() {
+		int reservedPort = this.portReservations != null ? this.portReservations.nextPort() : -1;
+		if (reservedPort != -1) {
+			return reservedPort;
+		}
+		int numberOfPortsToBind = this.maxPortNumber - this.minPortNumber + 1;
+		return new Random().nextInt(numberOfPortsToBind) + this.minPortNumber;
+	}
+
 	private <T> T executeLogicForAvailablePort(int portToScan, PortCallback<T> closure) throws IOException {
 		if (log.isDebugEnabled()) {
 			log.debug("Trying to execute closure with port [" + portToScan + "]");
@@ -97,6 +154,66 @@ class AvailablePortScanner {
 
 	}
 
+	/**
+	 * Latency and retry counts of the port allocations.
+	 */
+	static final class AllocationMetrics {
+
+		private final LongAdder allocations = new LongAdder();
+
+		private final LongAdder failures = new LongAdder();
+
+		private final LongAdder retries = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private void allocated(int retries, long nanos) {
+			this.allocations.increment();
+			record(retries, nanos);
+		}
+
+		private void failed(int retries, long nanos) {
+			this.failures.increment();
+			record(retries, nanos);
+		}
+
+		private void record(int retries, long nanos) {
+			this.retries.add(retries);
+			this.totalNanos.add(nanos);
+			this.maxNanos.accumulate(nanos);
+		}
+
+		long getAllocations() {
+			return this.allocations.sum();
+		}
+
+		long getFailures() {
+			return this.failures.sum();
+		}
+
+		long getRetries() {
+			return this.retries.sum();
+		}
+
+		long getTotalMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(this.totalNanos.sum());
+		}
+
+		long getMaxMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(this.maxNanos.get());
+		}
+
+		@Override
+		public String toString() {
+			return "Port allocations [" + getAllocations() + "], failures [" + getFailures() + "], retries ["
+					+ getRetries() + "], total time [" + getTotalMillis() + "ms], max time [" + getMaxMillis()
+					+ "ms]";
+		}
+
+	}
+
 	@SuppressWarnings("serial")
 	static class NoPortAvailableException extends RuntimeException {
 
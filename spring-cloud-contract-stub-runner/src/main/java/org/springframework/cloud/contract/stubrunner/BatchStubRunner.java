@@ -18,9 +18,13 @@ package org.springframework.cloud.contract.stubrunner;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -36,22 +40,84 @@ public class BatchStubRunner implements StubRunning {
 
 	private final Iterable<StubRunner> stubRunners;
 
+	private final int parallelism;
+
+	/**
+	 * Snapshots of the running stubs, computed when the stubs get started and reset when
+	 * they get stopped.
+	 */
+	private volatile RunningStubs runningStubs;
+
+	private volatile RunningStubs allRunningStubs;
+
+	/**
+	 * URLs of the started stubs indexed by all notations they can be found by. Built when
+	 * the stubs get started, so that lookups don't go through each stub runner.
+	 */
+	private volatile Map<String, URL> stubUrls;
+
 	public BatchStubRunner(Iterable<StubRunner> stubRunners) {
+		this(stubRunners, 1);
+	}
+
+	/**
+	 * @param stubRunners stub runners to manage
+	 * @param parallelism number of stub runners that can be started concurrently
+	 */
+	public BatchStubRunner(Iterable<StubRunner> stubRunners, int parallelism) {
 		this.stubRunners = stubRunners;
+		this.parallelism = parallelism;
 	}
 
 	@Override
 	public RunningStubs runStubs() {
+		RunningStubs running = this.runningStubs;
+		if (running != null) {
+			return running;
+		}
+		synchronized (this) {
+			if (this.runningStubs == null) {
+				this.runningStubs = startStubs();
+				this.stubUrls = indexStubUrls();
+			}
+			return this.runningStubs;
+		}
+	}
+
+	private RunningStubs startStubs() {
+		List<StubRunner> runners = new ArrayList<>();
+		this.stubRunners.forEach(runners::add);
+		// results are returned in the order of stub runners
+		List<RunningStubs> running = new ParallelStubsExecutor(this.parallelism).map(runners, StubRunner::runStubs);
 		Map<StubConfiguration, Integer> map = new LinkedHashMap<>();
-		for (StubRunner value : this.stubRunners) {
-			RunningStubs runningStubs = value.runStubs();
+		for (RunningStubs runningStubs : running) {
 			map.putAll(runningStubs.validNamesAndPorts());
 		}
 		return new RunningStubs(map);
 	}
 
+	private Map<String, URL> indexStubUrls() {
+		Map<String, URL> index = new HashMap<>();
+		for (StubRunner stubRunner : this.stubRunners) {
+			Map<String, URL> stubUrls = stubRunner.stubUrls();
+			if (stubUrls != null) {
+				// the first stub runner wins, as with the lookups
+				stubUrls.forEach(index::putIfAbsent);
+			}
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
 	@Override
 	public URL findStubUrl(String groupId, String artifactId) {
+		Map<String, URL> index = this.stubUrls;
+		if (index != null) {
+			URL url = index.get(groupId == null ? artifactId : groupId + ":" + artifactId);
+			if (url == null) {
+				throw new StubNotFoundException(groupId, artifactId);
+			}
+			return url;
+		}
 		for (StubRunner stubRunner : this.stubRunners) {
 			try {
 				return stubRunner.findStubUrl(groupId, artifactId);
@@ -64,6 +130,15 @@ public class BatchStubRunner implements StubRunning {
 
 	@Override
 	public URL findStubUrl(String ivyNotation) {
+		Map<String, URL> index = this.stubUrls;
+		// invalid notations get validated by the stub runners
+		if (index != null && colons(ivyNotation) <= 3) {
+			URL url = index.get(ivyNotation);
+			if (url == null) {
+				throw new StubNotFoundException(ivyNotation);
+			}
+			return url;
+		}
 		for (StubRunner stubRunner : this.stubRunners) {
 			try {
 				return stubRunner.findStubUrl(ivyNotation);
@@ -74,8 +149,29 @@ public class BatchStubRunner implements StubRunning {
 		throw new StubNotFoundException(ivyNotation);
 	}
 
+	private static int colons(String ivyNotation) {
+		int colons = 0;
+		for (int i = ivyNotation.indexOf(':'); i != -1; i = ivyNotation.indexOf(':', i + 1)) {
+			colons++;
+		}
+		return colons;
+	}
+
 	@Override
 	public RunningStubs findAllRunningStubs() {
+		RunningStubs running = this.allRunningStubs;
+		if (running != null) {
+			return running;
+		}
+		running = collectAllRunningStubs();
+		// cache only once the stubs were started
+		if (this.runningStubs != null) {
+			this.allRunningStubs = running;
+		}
+		return running;
+	}
+
+	private RunningStubs collectAllRunningStubs() {
 		Collection<RunningStubs> running = new LinkedHashSet<>();
 		for (StubRunner stubRunner : this.stubRunners) {
 			running.add(stubRunner.findAllRunningStubs());
@@ -141,6 +237,24 @@ public class BatchStubRunner implements StubRunning {
 		return success;
 	}
 
+	@Override
+	public boolean trigger(Collection<String> labelNames, int times) {
+		if (times <= 0) {
+			throw new IllegalArgumentException("Times has to be positive but was [" + times + "]");
+		}
+		boolean success = false;
+		for (StubRunner stubRunner : this.stubRunners) {
+			if (stubRunner.trigger(labelNames, times)) {
+				success = true;
+			}
+		}
+		if (!success) {
+			throw new IllegalArgumentException("No label with any of the names " + labelNames + " was found. "
+					+ "Here you have the list of dependencies and their labels [" + ivyToLabels() + "]");
+		}
+		return success;
+	}
+
 	@Override
 	public boolean trigger() {
 		boolean success = false;
@@ -170,6 +284,9 @@ public class BatchStubRunner implements StubRunning {
 
 	@Override
 	public void close() throws IOException {
+		this.runningStubs = null;
+		this.allRunningStubs = null;
+		this.stubUrls = null;
 		for (StubRunner stubRunner : this.stubRunners) {
 			stubRunner.close();
 		}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent, bare and shallow mirror of a Git repository with contracts. The mirror is
+ * stored under a cache directory shared by all JVMs, guarded by a file lock. It gets
+ * fetched (with depth 1) at most once per JVM. Only the folders of the requested
+ * {@code groupId/artifactId} are exported from the mirror to a temporary directory, so
+ * there's no full working tree checkout.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class GitContractsMirror {
+
+	/**
+	 * Directory where the Git mirrors should be stored. Setting it enables the mirror.
+	 */
+	static final String CACHE_DIRECTORY_PROPERTY = "git.cache-directory";
+
+	private static final Log log = LogFactory.getLog(GitContractsMirror.class);
+
+	private static final String TEMP_DIR_PREFIX = "git-contracts";
+
+	private static final String LOCK_FILE = ".lock";
+
+	private static final String STAGING_PREFIX = ".staging-";
+
+	private static final Object MONITOR = new Object();
+
+	private static final Map<Path, CompletableFuture<Void>> FETCHED_MIRRORS = new ConcurrentHashMap<>();
+
+	private static final Map<String, File> EXPORTED_CONTRACTS = new ConcurrentHashMap<>();
+
+	private final Path root;
+
+	private final GitStubDownloaderProperties properties;
+
+	private final Path mirror;
+
+	GitContractsMirror(Path root, GitStubDownloaderProperties properties) {
+		this.root = root;
+		this.properties = properties;
+		this.mirror = root.resolve(key(properties.url + "#" + properties.branch) + ".git");
+	}
+
+	/**
+	 * @param repo repository with contracts
+	 * @param options stub runner options
+	 * @return mirror or {@code null} when the mirror was not configured
+	 */
+	static GitContractsMirror fromOptions(Resource repo, StubRunnerOptions options) {
+		String directory = StubRunnerPropertyUtils.getProperty(options.getProperties(), CACHE_DIRECTORY_PROPERTY);
+		if (!StringUtils.hasText(directory)) {
+			return null;
+		}
+		return new GitContractsMirror(new File(directory).toPath(),
+				new GitStubDownloaderProperties(repo, options));
+	}
+
+	/**
+	 * Returns a folder with the contracts of the given stub. Fetches the mirror if it
+	 * wasn't fetched in this JVM yet. Concurrent callers wait for the fetch to finish.
+	 * @param stubConfiguration stub configuration
+	 * @return folder with contracts of the stub
+	 */
+	File contractsFor(StubConfiguration stubConfiguration) {
+		fetchOnce();
+		String key = this.mirror + "#" + stubConfiguration.groupId + ":" + stubConfiguration.artifactId;
+		return EXPORTED_CONTRACTS.computeIfAbsent(key, s -> export(stubConfiguration));
+	}
+
+	private void fetchOnce() {
+		CompletableFuture<Void> fetch = new CompletableFuture<>();
+		CompletableFuture<Void> pending = FETCHED_MIRRORS.putIfAbsent(this.mirror, fetch);
+		if (pending != null) {
+			try {
+				pending.join();
+				return;
+			}
+			catch (CompletionException ex) {
+				throw (ex.getCause() instanceof RuntimeException cause) ? cause : ex;
+			}
+		}
+		try {
+			withLock(this::updateMirror);
+			fetch.complete(null);
+		}
+		catch (IOException | RuntimeException ex) {
+			// the next caller should try to fetch again
+			FETCHED_MIRRORS.remove(this.mirror, fetch);
+			IllegalStateException exception = new IllegalStateException(
+					"Exception occurred while updating the Git mirror [" + this.mirror + "] of ["
+							+ this.properties.url + "]",
+					ex);
+			fetch.completeExceptionally(exception);
+			throw exception;
+		}
+	}
+
+	private void updateMirror() throws IOException {
+		GitRepo gitRepo = new GitRepo(this.mirror.toFile(), this.properties);
+		String branchRef = "refs/heads/" + this.properties.branch;
+		try {
+			if (Files.isDirectory(this.mirror)) {
+				log.info("Fetching the latest changes of branch [" + this.properties.branch + "] to the Git mirror ["
+						+ this.mirror + "]");
+				try (Git git = gitRepo.gitFactory.open(this.mirror.toFile())) {
+					gitRepo.gitFactory.fetch(git)
+						.setRemote("origin")
+						.setRefSpecs(new RefSpec("+" + branchRef + ":" + branchRef))
+						.setDepth(1)
+						.call();
+				}
+				return;
+			}
+			Files.createDirectories(this.root);
+			Path staging = this.root.resolve(STAGING_PREFIX + UUID.randomUUID());
+			log.info("Cloning branch [" + this.properties.branch + "] of [" + this.properties.url
+					+ "] to the Git mirror [" + this.mirror + "]");
+			try {
+				gitRepo.gitFactory.getCloneCommandByCloneRepository()
+					.setURI(gitRepo.sanitizeGitUrl(this.properties.url))
+					.setDirectory(staging.toFile())
+					.setBare(true)
+					.setDepth(1)
+					.setBranch(branchRef)
+					.setBranchesToClone(Collections.singletonList(branchRef))
+					.call()
+					.close();
+				Files.move(staging, this.mirror, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				FileSystemUtils.deleteRecursively(staging);
+			}
+		}
+		catch (GitAPIException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private File export(StubConfiguration stubConfiguration) {
+		File target = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
+		String withDot = stubConfiguration.groupId + "." + stubConfiguration.artifactId + "/";
+		String withSlash = stubConfiguration.groupId + "/" + stubConfiguration.artifactId + "/";
+		try (Git git = Git.open(this.mirror.toFile());
+				RevWalk revWalk = new RevWalk(git.getRepository());
+				TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+			Repository repository = git.getRepository();
+			ObjectId head = repository.resolve("refs/heads/" + this.properties.branch);
+			if (head == null) {
+				throw new IllegalStateException("Branch [" + this.properties.branch + "] not found in the Git mirror ["
+						+ this.mirror + "]");
+			}
+			RevCommit commit = revWalk.parseCommit(head);
+			treeWalk.addTree(commit.getTree());
+			treeWalk.setRecursive(true);
+			int exported = 0;
+			while (treeWalk.next()) {
+				String path = treeWalk.getPathString();
+				if (!containsFolder(path, withDot) && !containsFolder(path, withSlash)) {
+					continue;
+				}
+				Path file = target.toPath().resolve(path);
+				Files.createDirectories(file.getParent());
+				try (OutputStream stream = Files.newOutputStream(file)) {
+					repository.open(treeWalk.getObjectId(0)).copyTo(stream);
+				}
+				exported++;
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Exported [" + exported + "] files of ["
+						+ stubConfiguration.toColonSeparatedDependencyNotation() + "] from the Git mirror ["
+						+ this.mirror + "] to [" + target + "]");
+			}
+			return target;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static boolean containsFolder(String path, String folder) {
+		return path.startsWith(folder) || path.contains("/" + folder);
+	}
+
+	private void withLock(LockedAction action) throws IOException {
+		// file locks are held on behalf of the whole JVM
+		synchronized (MONITOR) {
+			Files.createDirectories(this.root);
+			try (FileChannel channel = FileChannel.open(this.root.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				action.run();
+			}
+		}
+	}
+
+	private static String key(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private interface LockedAction {
+
+		void run() throws IOException;
+
+	}
+
+}
@@ -39,6 +39,7 @@ import org.apache.commons.logging.LogFactory;
 import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.CreateBranchCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ListBranchCommand;
 import org.eclipse.jgit.api.PullCommand;
@@ -401,6 +402,10 @@ class GitRepo {
 			return git.push().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
 		}
 
+		FetchCommand fetch(Git git) {
+			return git.fetch().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
+		}
+
 		PullCommand pull(Git git) {
 			return git.pull().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
 		}
@@ -17,7 +17,10 @@
 package org.springframework.cloud.contract.stubrunner;
 
 import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Describes an HTTP Server Stub.
@@ -74,6 +77,19 @@ public interface HttpServerStub {
 	 */
 	HttpServerStub registerMappings(Collection<File> stubFiles);
 
+	/**
+	 * Registers the stub files that were already parsed via {@link #parseMapping(File)}.
+	 * Implementations that override {@link #parseMapping(File)} should override this
+	 * method too, so that they don't have to read the files again. Should return itself to
+	 * allow chaining.
+	 * @param parsedMappings map of stub files to their parsed representation
+	 * @return this
+	 * @since 5.0.0
+	 */
+	default HttpServerStub registerParsedMappings(Map<File, Object> parsedMappings) {
+		return registerMappings(parsedMappings.keySet());
+	}
+
 	/**
 	 * @return a collection of registered mappings.
 	 */
@@ -85,4 +101,29 @@ public interface HttpServerStub {
 	 */
 	boolean isAccepted(File file);
 
+	/**
+	 * Checks if the file can be accepted and parses it in one go. The result gets passed
+	 * back to {@link #registerParsedMappings(Map)}.
+	 * @param file file to parse
+	 * @return parsed representation of the stub mapping or {@code null} if the file is
+	 * not a valid stub mapping
+	 * @since 5.0.0
+	 */
+	default Object parseMapping(File file) {
+		return isAccepted(file) ? file : null;
+	}
+
+	/**
+	 * Same as {@link #parseMapping(File)} but for stub files that don't have to be
+	 * present on the default file system, e.g. entries of a stub JAR. Implementations
+	 * that work only with files can't parse such entries.
+	 * @param path path to parse
+	 * @return parsed representation of the stub mapping or {@code null} if the path is
+	 * not a valid stub mapping
+	 * @since 5.0.0
+	 */
+	default Object parseMapping(Path path) {
+		return path.getFileSystem() == FileSystems.getDefault() ? parseMapping(path.toFile()) : null;
+	}
+
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Applies a function to a collection of elements using a bounded number of threads.
+ * Results are always returned in the iteration order of the input so that callers can
+ * rely on a deterministic ordering regardless of the order in which tasks complete.
+ * Virtual threads are used when the JVM supports them.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class ParallelStubsExecutor {
+
+	private static final Log log = LogFactory.getLog(ParallelStubsExecutor.class);
+
+	private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+	private final int parallelism;
+
+	ParallelStubsExecutor(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	<T, R> List<R> map(Collection<T> elements, Function<T, R> function) {
+		if (this.parallelism <= 1 || elements.size() <= 1) {
+			List<R> results = new ArrayList<>(elements.size());
+			for (T element : elements) {
+				results.add(function.apply(element));
+			}
+			return results;
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Will process [" + elements.size() + "] elements with parallelism [" + this.parallelism + "]");
+		}
+		try (SimpleAsyncTaskExecutor executor = executor()) {
+			List<CompletableFuture<R>> futures = new ArrayList<>(elements.size());
+			for (T element : elements) {
+				futures.add(CompletableFuture.supplyAsync(() -> function.apply(element), executor));
+			}
+			List<R> results = new ArrayList<>(futures.size());
+			for (CompletableFuture<R> future : futures) {
+				results.add(join(future));
+			}
+			return results;
+		}
+	}
+
+	private SimpleAsyncTaskExecutor executor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("stub-runner-");
+		executor.setConcurrencyLimit(this.parallelism);
+		executor.setVirtualThreads(Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION);
+		return executor;
+	}
+
+	private <R> R join(CompletableFuture<R> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Reserves blocks of ports from a port range on behalf of the current JVM. Reservations
+ * are stored as files in a directory shared by all JVMs (e.g. parallel Surefire forks or
+ * Gradle test workers) and guarded by a file lock, so that each JVM picks ports from its
+ * own blocks. Blocks of processes that are no longer alive get taken over.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class PortReservations {
+
+	/**
+	 * Number of ports reserved at once by a JVM. Setting it enables the reservations.
+	 */
+	static final String BLOCK_SIZE_PROPERTY = "stubs.ports.block-size";
+
+	/**
+	 * Directory where the port reservations of all JVMs get stored.
+	 */
+	static final String DIRECTORY_PROPERTY = "stubs.ports.reservations-directory";
+
+	private static final Log log = LogFactory.getLog(PortReservations.class);
+
+	private static final String DEFAULT_DIRECTORY = "spring-cloud-contract-port-reservations";
+
+	private static final String LOCK_FILE = ".lock";
+
+	private static final String BLOCK_SUFFIX = ".block";
+
+	private static final Object MONITOR = new Object();
+
+	private static final String PID = String.valueOf(ProcessHandle.current().pid());
+
+	private static final Map<String, PortReservations> INSTANCES = new ConcurrentHashMap<>();
+
+	private final Path directory;
+
+	private final int minPortNumber;
+
+	private final int maxPortNumber;
+
+	private final int blockSize;
+
+	private final List<Integer> blocks = new ArrayList<>();
+
+	private int currentBlock = -1;
+
+	private int nextPort = -1;
+
+	private PortReservations(Path directory, int minPortNumber, int maxPortNumber, int blockSize) {
+		this.directory = directory;
+		this.minPortNumber = minPortNumber;
+		this.maxPortNumber = maxPortNumber;
+		this.blockSize = blockSize;
+		Runtime.getRuntime().addShutdownHook(new Thread(this::release));
+	}
+
+	/**
+	 * @param options stub runner options
+	 * @return port reservations shared by the whole JVM or {@code null} when the
+	 * reservations were not configured
+	 */
+	static PortReservations fromOptions(StubRunnerOptions options) {
+		String blockSize = StubRunnerPropertyUtils.getProperty(options.getProperties(), BLOCK_SIZE_PROPERTY);
+		if (!StringUtils.hasText(blockSize) || Integer.parseInt(blockSize) <= 0) {
+			return null;
+		}
+		String directory = StubRunnerPropertyUtils.getProperty(options.getProperties(), DIRECTORY_PROPERTY);
+		Path path = StringUtils.hasText(directory) ? new File(directory).toPath()
+				: new File(System.getProperty("java.io.tmpdir"), DEFAULT_DIRECTORY).toPath();
+		return of(path, options.getMinPortValue(), options.getMaxPortValue(), Integer.parseInt(blockSize));
+	}
+
+	static PortReservations of(Path directory, int minPortNumber, int maxPortNumber, int blockSize) {
+		String key = directory.toAbsolutePath() + "#" + minPortNumber + "-" + maxPortNumber + "#" + blockSize;
+		return INSTANCES.computeIfAbsent(key,
+				s -> new PortReservations(directory, minPortNumber, maxPortNumber, blockSize));
+	}
+
+	/**
+	 * Returns the next port from the blocks reserved by this JVM. Reserves a new block
+	 * when the current one is used up. When no new block can be reserved, the already
+	 * reserved blocks are reused.
+	 * @return next port or {@code -1} when no block could be reserved
+	 */
+	synchronized int nextPort() {
+		if (this.nextPort == -1 || this.nextPort > blockEnd(this.blocks.get(this.currentBlock))) {
+			if (!nextBlock()) {
+				return -1;
+			}
+		}
+		return this.nextPort++;
+	}
+
+	private boolean nextBlock() {
+		Integer reserved = reserveBlock();
+		if (reserved != null) {
+			this.blocks.add(reserved);
+			this.currentBlock = this.blocks.size() - 1;
+		}
+		else if (this.blocks.isEmpty()) {
+			return false;
+		}
+		else {
+			this.currentBlock = (this.currentBlock + 1) % this.blocks.size();
+		}
+		this.nextPort = this.blocks.get(this.currentBlock);
+		return true;
+	}
+
+	private int blockEnd(int blockStart) {
+		return Math.min(blockStart + this.blockSize - 1, this.maxPortNumber);
+	}
+
+	private Integer reserveBlock() {
+		try {
+			return withLock(() -> {
+				for (int start = this.minPortNumber; start <= this.maxPortNumber; start += this.blockSize) {
+					if (this.blocks.contains(start)) {
+						continue;
+					}
+					Path block = this.directory.resolve(start + BLOCK_SUFFIX);
+					if (Files.exists(block) && isOwnerAlive(block)) {
+						continue;
+					}
+					Files.write(block, PID.getBytes(StandardCharsets.UTF_8));
+					if (log.isDebugEnabled()) {
+						log.debug("Reserved ports [" + start + "-" + blockEnd(start) + "] in [" + this.directory + "]");
+					}
+					return start;
+				}
+				return null;
+			});
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to reserve a block of ports in [" + this.directory + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	private boolean isOwnerAlive(Path block) throws IOException {
+		String owner = new String(Files.readAllBytes(block), StandardCharsets.UTF_8).trim();
+		try {
+			return ProcessHandle.of(Long.parseLong(owner)).map(ProcessHandle::isAlive).orElse(false);
+		}
+		catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+	private void release() {
+		try {
+			withLock(() -> {
+				for (Integer start : this.blocks) {
+					Path block = this.directory.resolve(start + BLOCK_SUFFIX);
+					if (Files.exists(block)
+							&& PID.equals(new String(Files.readAllBytes(block), StandardCharsets.UTF_8).trim())) {
+						Files.delete(block);
+					}
+				}
+				return null;
+			});
+		}
+		catch (IOException ex) {
+			log.warn("Failed to release the ports reserved in [" + this.directory + "]", ex);
+		}
+	}
+
+	private <T> T withLock(LockedAction<T> action) throws IOException {
+		// file locks are held on behalf of the whole JVM
+		synchronized (MONITOR) {
+			Files.createDirectories(this.directory);
+			try (FileChannel channel = FileChannel.open(this.directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				return action.run();
+			}
+		}
+	}
+
+	private interface LockedAction<T> {
+
+		T run() throws IOException;
+
+	}
+
+}
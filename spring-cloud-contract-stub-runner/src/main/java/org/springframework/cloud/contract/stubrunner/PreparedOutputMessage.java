@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import groovy.json.JsonOutput;
+import groovy.lang.GString;
+import tools.jackson.dataformat.yaml.YAMLMapper;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.spec.internal.CanBeDynamic;
+import org.springframework.cloud.contract.spec.internal.DslProperty;
+import org.springframework.cloud.contract.spec.internal.FromFileProperty;
+import org.springframework.cloud.contract.spec.internal.Headers;
+import org.springframework.cloud.contract.spec.internal.OutputMessage;
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
+import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
+import org.springframework.cloud.contract.verifier.messaging.MessageVerifierSender;
+import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessageMetadata;
+import org.springframework.cloud.contract.verifier.util.BodyExtractor;
+
+/**
+ * Output message of a contract prepared to be sent. The contract conversion, the headers
+ * and the destination are computed only once. So is the payload, unless the body
+ * contains dynamic values that have to be generated for each message.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class PreparedOutputMessage {
+
+	private static final YAMLMapper MAPPER = new YAMLMapper();
+
+	private final YamlContract contract;
+
+	private final Map<String, Object> headers;
+
+	private final String destination;
+
+	private final Object body;
+
+	private final Object payload;
+
+	PreparedOutputMessage(Contract groovyDsl, YamlContractConverter yamlContractConverter) {
+		OutputMessage outputMessage = groovyDsl.getOutputMessage();
+		DslProperty<?> body = outputMessage.getBody();
+		Headers headers = outputMessage.getHeaders();
+		this.contract = yamlContractConverter.convertTo(Collections.singleton(groovyDsl)).get(0);
+		this.headers = headers == null ? null : headers.asStubSideMap();
+		this.destination = outputMessage.getSentTo().getClientValue();
+		this.body = body == null ? null : body.getClientValue();
+		this.payload = isDynamic(this.body) ? null : payload();
+	}
+
+	/**
+	 * Sends the message.
+	 * @param messageVerifierSender sender of the message
+	 */
+	void send(MessageVerifierSender<?> messageVerifierSender) {
+		Object payload = this.payload != null ? this.payload : payload();
+		// senders are free to modify the headers and the contract
+		Map<String, Object> headers = this.headers == null ? null : new LinkedHashMap<>(this.headers);
+		messageVerifierSender.send(payload, headers, this.destination, contract());
+	}
+
+	private YamlContract contract() {
+		YamlContract contract = MAPPER.treeToValue(MAPPER.valueToTree(this.contract), YamlContract.class);
+		contract.metadata.put(ContractVerifierMessageMetadata.METADATA_KEY,
+				new ContractVerifierMessageMetadata(ContractVerifierMessageMetadata.MessageType.OUTPUT));
+		return contract;
+	}
+
+	private Object payload() {
+		if (this.body instanceof FromFileProperty fromFile) {
+			return fromFile.isByte() ? fromFile.asBytes() : fromFile.asString();
+		}
+		return JsonOutput.toJson(BodyExtractor.extractClientValueFromBody(this.body));
+	}
+
+	/**
+	 * Dynamic values (e.g. regular expressions) get a new concrete value generated
+	 * whenever the body is extracted.
+	 * @param value body or its part
+	 * @return {@code true} when the body has to be extracted for each message
+	 */
+	private static boolean isDynamic(Object value) {
+		if (value instanceof CanBeDynamic || value instanceof Pattern) {
+			return true;
+		}
+		if (value instanceof DslProperty<?> property) {
+			return isDynamic(property.getClientValue());
+		}
+		if (value instanceof GString gString) {
+			return isDynamic(gString.getValues());
+		}
+		if (value instanceof Map<?, ?> map) {
+			return isDynamic(map.values());
+		}
+		if (value instanceof Iterable<?> iterable) {
+			for (Object element : iterable) {
+				if (isDynamic(element)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		if (value instanceof Object[] array) {
+			for (Object element : array) {
+				if (isDynamic(element)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -25,7 +25,9 @@ import java.util.Set;
 
 /**
  * Structure representing executed stubs. Contains the configuration of each stub together
- * with the port on which its executed.
+ * with the port on which its executed. The structure is immutable, so the mapping of ivy
+ * notations to ports and the services names are computed only once. Callers get copies
+ * of them that they are free to modify.
  *
  * @author Marcin Grzejszczak
  */
@@ -33,18 +35,47 @@ public class RunningStubs {
 
 	final private Map<StubConfiguration, Integer> namesAndPorts = new LinkedHashMap<>();
 
+	final private Map<String, Integer> ivyToPort;
+
+	final private Set<String> servicesNames;
+
 	public RunningStubs(Map<StubConfiguration, Integer> map) {
 		this.namesAndPorts.putAll(map);
+		this.ivyToPort = ivyToPort();
+		this.servicesNames = servicesNames();
 	}
 
 	public RunningStubs(Collection<RunningStubs> runningStubs) {
 		for (RunningStubs it : runningStubs) {
 			this.namesAndPorts.putAll(it.namesAndPorts);
 		}
+		this.ivyToPort = ivyToPort();
+		this.servicesNames = servicesNames();
+	}
+
+	private Map<String, Integer> ivyToPort() {
+		Map<String, Integer> result = new LinkedHashMap<>();
+		for (Entry<StubConfiguration, Integer> it : this.namesAndPorts.entrySet()) {
+			result.put(it.getKey().toColonSeparatedDependencyNotation(), it.getValue());
+		}
+		return result;
+	}
+
+	private Set<String> servicesNames() {
+		Set<String> result = new LinkedHashSet<>();
+		for (Entry<StubConfiguration, Integer> it : this.namesAndPorts.entrySet()) {
+			result.add(it.getKey().artifactId);
+		}
+		return result;
 	}
 
 	public Integer getPort(String artifactId) {
-		return getEntry(artifactId) == null ? null : getEntry(artifactId).getValue();
+		// full notation needs no matching
+		if (this.ivyToPort.containsKey(artifactId)) {
+			return this.ivyToPort.get(artifactId);
+		}
+		Map.Entry<StubConfiguration, Integer> entry = getEntry(artifactId);
+		return entry == null ? null : entry.getValue();
 	}
 
 	public Map.Entry<StubConfiguration, Integer> getEntry(String artifactId) {
@@ -78,19 +109,11 @@ public class RunningStubs {
 	}
 
 	public Set<String> getAllServicesNames() {
-		Set<String> result = new LinkedHashSet<>();
-		for (Entry<StubConfiguration, Integer> it : this.namesAndPorts.entrySet()) {
-			result.add(it.getKey().artifactId);
-		}
-		return result;
+		return new LinkedHashSet<>(this.servicesNames);
 	}
 
 	public Map<String, Integer> toIvyToPortMapping() {
-		Map<String, Integer> result = new LinkedHashMap<>();
-		for (Entry<StubConfiguration, Integer> it : this.namesAndPorts.entrySet()) {
-			result.put(it.getKey().toColonSeparatedDependencyNotation(), it.getValue());
-		}
-		return result;
+		return new LinkedHashMap<>(this.ivyToPort);
 	}
 
 	public Map<StubConfiguration, Integer> validNamesAndPorts() {
@@ -28,8 +28,11 @@ import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +43,9 @@ import java.util.stream.Collectors;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 
 import org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties;
 import org.springframework.core.io.AbstractResource;
@@ -171,10 +177,14 @@ class GitStubDownloader implements StubDownloader {
 
 	private final GitContractsRepo gitContractsRepo;
 
+	private final GitContractsMirror gitContractsMirror;
+
 	GitStubDownloader(StubRunnerOptions stubRunnerOptions) {
 		this.stubRunnerOptions = stubRunnerOptions;
 		this.deleteStubsAfterTest = this.stubRunnerOptions.isDeleteStubsAfterTest();
 		this.gitContractsRepo = new GitContractsRepo(stubRunnerOptions);
+		this.gitContractsMirror = GitContractsMirror.fromOptions(stubRunnerOptions.getStubRepositoryRoot(),
+				stubRunnerOptions);
 		registerShutdownHook();
 	}
 
@@ -186,11 +196,11 @@ class GitStubDownloader implements StubDownloader {
 						+ "]");
 			}
 			Resource repo = this.stubRunnerOptions.getStubRepositoryRoot();
-			File clonedRepo = this.gitContractsRepo.clonedRepo(repo);
-			FileWalker walker = new FileWalker(stubConfiguration);
-			Files.walkFileTree(clonedRepo.toPath(), walker);
-			if (walker.foundFile != null) {
-				return new AbstractMap.SimpleEntry<>(stubConfiguration, walker.foundFile.toFile());
+			File clonedRepo = this.gitContractsMirror != null
+					? this.gitContractsMirror.contractsFor(stubConfiguration) : this.gitContractsRepo.clonedRepo(repo);
+			Path foundFile = ContractsDirectoryIndex.forDirectory(clonedRepo).find(stubConfiguration);
+			if (foundFile != null) {
+				return new AbstractMap.SimpleEntry<>(stubConfiguration, foundFile.toFile());
 			}
 		}
 		catch (IOException e) {
@@ -277,6 +287,114 @@ class GitStubDownloaderProperties {
 
 }
 
+/**
+ * Index of directories of a repository with contracts. The repository is walked only once
+ * instead of once per stub. The index gets rebuilt when the checked out revision of the
+ * repository changes (e.g. after a pull that brought new commits).
+ */
+class ContractsDirectoryIndex {
+
+	private static final Log log = LogFactory.getLog(ContractsDirectoryIndex.class);
+
+	private static final String GIT_FOLDER = ".git";
+
+	private static final Map<Path, ContractsDirectoryIndex> INDEXES = new ConcurrentHashMap<>();
+
+	private final String revision;
+
+	/**
+	 * Directories by their name and by their parent's and their name (e.g.
+	 * {@code com.example.foo} and {@code com.example/foo}). Values are in walk order.
+	 */
+	private final Map<String, List<Path>> directories = new HashMap<>();
+
+	private final Map<Path, Integer> walkOrder = new HashMap<>();
+
+	private ContractsDirectoryIndex(Path root, String revision) throws IOException {
+		this.revision = revision;
+		Files.walkFileTree(root, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (GIT_FOLDER.equals(String.valueOf(dir.getFileName()))) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				index(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		if (log.isDebugEnabled()) {
+			log.debug("Indexed [" + this.walkOrder.size() + "] directories of [" + root + "] at revision ["
+					+ revision + "]");
+		}
+	}
+
+	static ContractsDirectoryIndex forDirectory(File root) {
+		String revision = revision(root);
+		return INDEXES.compute(root.toPath().toAbsolutePath(), (path, index) -> {
+			if (index != null && revision != null && revision.equals(index.revision)) {
+				return index;
+			}
+			try {
+				return new ContractsDirectoryIndex(path, revision);
+			}
+			catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	private static String revision(File root) {
+		if (!new File(root, GIT_FOLDER).exists()) {
+			// not a Git repository, its contents don't change
+			return "";
+		}
+		try (Git git = Git.open(root)) {
+			ObjectId head = git.getRepository().resolve(Constants.HEAD);
+			return head != null ? head.name() : null;
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void index(Path dir) {
+		Path absolute = dir.toAbsolutePath();
+		this.walkOrder.put(absolute, this.walkOrder.size());
+		Path name = absolute.getFileName();
+		if (name == null) {
+			return;
+		}
+		this.directories.computeIfAbsent(name.toString(), s -> new ArrayList<>()).add(absolute);
+		Path parent = absolute.getParent() != null ? absolute.getParent().getFileName() : null;
+		if (parent != null) {
+			this.directories.computeIfAbsent(parent + "/" + name, s -> new ArrayList<>()).add(absolute);
+		}
+	}
+
+	/**
+	 * @param stubConfiguration stub to find
+	 * @return folder with the contracts of the given stub or {@code null} if not found
+	 */
+	Path find(StubConfiguration stubConfiguration) throws IOException {
+		List<Path> artifactDirectories = new ArrayList<>();
+		artifactDirectories.addAll(this.directories.getOrDefault(
+				stubConfiguration.groupId + "." + stubConfiguration.artifactId, Collections.emptyList()));
+		artifactDirectories.addAll(this.directories.getOrDefault(
+				stubConfiguration.groupId + "/" + stubConfiguration.artifactId, Collections.emptyList()));
+		artifactDirectories.sort(Comparator.comparing(this.walkOrder::get));
+		for (Path artifactDirectory : artifactDirectories) {
+			// version resolution walks only the folders of the artifact
+			FileWalker walker = new FileWalker(stubConfiguration);
+			Files.walkFileTree(artifactDirectory, walker);
+			if (walker.foundFile != null) {
+				return walker.foundFile;
+			}
+		}
+		return null;
+	}
+
+}
+
 class FileWalker extends SimpleFileVisitor<Path> {
 
 	private static final Log log = LogFactory.getLog(FileWalker.class);
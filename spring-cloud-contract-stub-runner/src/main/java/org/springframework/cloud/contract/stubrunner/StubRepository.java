@@ -18,6 +18,8 @@ package org.springframework.cloud.contract.stubrunner;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,7 +29,9 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.micrometer.common.lang.Nullable;
 import org.apache.commons.logging.Log;
@@ -39,15 +43,28 @@ import org.springframework.cloud.contract.stubrunner.provider.wiremock.WireMockH
 import org.springframework.cloud.contract.verifier.util.ContractScanner;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 
+import static org.springframework.cloud.contract.stubrunner.util.ZipCategory.unzipTo;
+
 /**
- * Wraps the folder with stub mappings.
+ * Wraps the folder with stub mappings. The stub mappings can also be read directly from a
+ * stub JAR, without unpacking it. The JAR still gets unpacked when custom HTTP server
+ * stubs are registered.
  */
 class StubRepository {
 
 	private static final Log log = LogFactory.getLog(StubRepository.class);
 
+	private static final String TEMP_DIR_PREFIX = "contracts";
+
+	private static final String MAPPINGS_DIR = "mappings";
+
 	final List<File> stubs;
 
+	/**
+	 * Stub files together with their representation parsed by the HTTP server stub.
+	 */
+	final Map<File, Object> parsedStubs;
+
 	final Collection<Contract> contracts;
 
 	private final File path;
@@ -56,11 +73,13 @@ class StubRepository {
 
 	private final List<HttpServerStub> httpServerStubs;
 
+	private final HttpServerStub defaultHttpServerStub = new WireMockHttpServerStub();
+
 	private final StubRunnerOptions options;
 
 	StubRepository(File repository, List<HttpServerStub> httpServerStubs, StubRunnerOptions options,
 			@Nullable StubConfiguration stubConfiguration) {
-		if (!repository.isDirectory()) {
+		if (!repository.isDirectory() && !isJar(repository)) {
 			throw new IllegalArgumentException("Missing descriptor repository under path [" + repository + "]");
 		}
 		this.contractConverters = SpringFactoriesLoader.loadFactories(ContractConverter.class, null);
@@ -70,8 +89,22 @@ class StubRepository {
 		this.httpServerStubs = httpServerStubs;
 		this.path = repository;
 		this.options = options;
+		if (repository.isDirectory()) {
+			this.parsedStubs = collectedStubs();
+			this.contracts = contracts(this.path);
+		}
+		else if (!httpServerStubs.isEmpty()) {
+			// custom HTTP server stubs might read the mapping files, so they have to exist
+			File unpacked = unpackJar();
+			this.parsedStubs = collectMappings(unpacked);
+			this.contracts = contracts(unpacked);
+		}
+		else {
+			JarEntries jarEntries = readJar();
+			this.parsedStubs = jarEntries.parsedStubs;
+			this.contracts = contracts(jarEntries.otherEntries);
+		}
 		this.stubs = stubs();
-		this.contracts = contracts();
 		if (options.isFailOnNoStubs() && this.stubs.isEmpty() && this.contracts.isEmpty()) {
 			throw new IllegalStateException("No stubs or contracts were found for ["
 					+ (stubConfiguration != null ? stubConfiguration.toColonSeparatedDependencyNotation() : null)
@@ -94,37 +127,119 @@ class StubRepository {
 		return this.stubs;
 	}
 
+	public Map<File, Object> getParsedStubs() {
+		return this.parsedStubs;
+	}
+
 	public Collection<Contract> getContracts() {
 		return this.contracts;
 	}
 
+	private static boolean isJar(File file) {
+		return file.isFile() && file.getName().endsWith(".jar");
+	}
+
 	/**
+	 * @param contractsDirectory directory with contracts
 	 * @return a list of contracts
 	 */
-	private Collection<Contract> contracts() {
-		return new ArrayList<>(contractDescriptors());
+	private Collection<Contract> contracts(File contractsDirectory) {
+		return new ArrayList<>(contractDescriptors(contractsDirectory));
 	}
 
 	/**
 	 * @return the list of stubs
 	 */
 	private List<File> stubs() {
-		return new ArrayList<>(collectedStubs());
+		return new ArrayList<>(this.parsedStubs.keySet());
 	}
 
-	private List<File> collectedStubs() {
-		return this.path.exists() ? collectMappings(this.path) : Collections.<File>emptyList();
+	private File unpackJar() {
+		File unpacked = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
+		unzipTo(this.path, unpacked);
+		TemporaryFileStorage.add(unpacked);
+		if (log.isDebugEnabled()) {
+			log.debug("Unpacked the stub JAR [" + this.path + "] to [" + unpacked + "]");
+		}
+		return unpacked;
 	}
 
-	private List<File> collectMappings(File descriptorsDirectory) {
-		final List<File> mappingDescriptors = new ArrayList<>();
+	/**
+	 * Parses the stub mappings straight from the JAR entries under a {@code mappings}
+	 * directory. All remaining entries (e.g. contracts and the files they reference) get
+	 * extracted, since contract converters work on files.
+	 * @return parsed stub mappings and the directory with the remaining entries
+	 */
+	private JarEntries readJar() {
+		final Map<File, Object> mappingDescriptors = new LinkedHashMap<>();
+		final File[] otherEntries = new File[1];
+		try (FileSystem jar = FileSystems.newFileSystem(this.path.toPath())) {
+			for (Path root : jar.getRootDirectories()) {
+				Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(Path entry, BasicFileAttributes attrs) throws IOException {
+						Path relative = root.relativize(entry);
+						String relativePath = relative.toString();
+						if (isMapping(relative)) {
+							// identifies the entry - the file doesn't exist
+							File file = new File(StubRepository.this.path, relativePath);
+							if (!isStubPerConsumerPathMatching(file)) {
+								return FileVisitResult.CONTINUE;
+							}
+							Object parsedStub = parsedStub(entry);
+							if (parsedStub != null) {
+								mappingDescriptors.put(file, parsedStub);
+								return FileVisitResult.CONTINUE;
+							}
+						}
+						if (otherEntries[0] == null) {
+							otherEntries[0] = TemporaryFileStorage.createTempDir(TEMP_DIR_PREFIX);
+							TemporaryFileStorage.add(otherEntries[0]);
+						}
+						Path target = otherEntries[0].toPath().resolve(relativePath);
+						Files.createDirectories(target.getParent());
+						Files.copy(entry, target);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			}
+		}
+		catch (IOException e) {
+			log.warn("Exception occurred while trying to read the stub JAR [" + this.path + "]", e);
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Read [" + mappingDescriptors.size() + "] stub mappings from the JAR [" + this.path + "]"
+					+ (otherEntries[0] != null ? ", the remaining entries were extracted to [" + otherEntries[0] + "]"
+							: ""));
+		}
+		return new JarEntries(mappingDescriptors, otherEntries[0]);
+	}
+
+	private static boolean isMapping(Path relativePath) {
+		for (Path segment : relativePath) {
+			if (MAPPINGS_DIR.equals(segment.toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Map<File, Object> collectedStubs() {
+		return this.path.exists() ? collectMappings(this.path) : Collections.<File, Object>emptyMap();
+	}
+
+	private Map<File, Object> collectMappings(File descriptorsDirectory) {
+		final Map<File, Object> mappingDescriptors = new LinkedHashMap<>();
 		try {
 			Files.walkFileTree(Paths.get(descriptorsDirectory.toURI()), new SimpleFileVisitor<Path>() {
 				@Override
 				public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
 					File file = path.toFile();
-					if (httpServerStubAccepts(file) && isStubPerConsumerPathMatching(file)) {
-						mappingDescriptors.add(file);
+					if (isStubPerConsumerPathMatching(file)) {
+						Object parsedStub = parsedStub(file);
+						if (parsedStub != null) {
+							mappingDescriptors.put(file, parsedStub);
+						}
 					}
 					return super.visitFile(path, attrs);
 				}
@@ -136,19 +251,36 @@ class StubRepository {
 		return mappingDescriptors;
 	}
 
-	private boolean httpServerStubAccepts(File file) {
+	/**
+	 * Parses the file only once - the parsed representation is reused when the mappings
+	 * get registered.
+	 * @param file potential stub mapping
+	 * @return parsed stub or {@code null} if no HTTP server stub accepts the file
+	 */
+	private Object parsedStub(File file) {
 		for (HttpServerStub httpServerStub : this.httpServerStubs) {
-			if (httpServerStub.isAccepted(file)) {
-				return true;
+			Object parsedStub = httpServerStub.parseMapping(file);
+			if (parsedStub != null) {
+				return parsedStub;
 			}
 		}
 		// the default implementation
-		return new WireMockHttpServerStub().isAccepted(file);
+		return this.defaultHttpServerStub.parseMapping(file);
 	}
 
-	private Collection<Contract> contractDescriptors() {
-		return (this.path.exists()
-				? ContractScanner.collectContractDescriptors(this.path, this::isStubPerConsumerPathMatching)
+	private Object parsedStub(Path entry) {
+		for (HttpServerStub httpServerStub : this.httpServerStubs) {
+			Object parsedStub = httpServerStub.parseMapping(entry);
+			if (parsedStub != null) {
+				return parsedStub;
+			}
+		}
+		return this.defaultHttpServerStub.parseMapping(entry);
+	}
+
+	private Collection<Contract> contractDescriptors(File contractsDirectory) {
+		return (contractsDirectory != null && contractsDirectory.exists()
+				? ContractScanner.collectContractDescriptors(contractsDirectory, this::isStubPerConsumerPathMatching)
 				: Collections.<Contract>emptySet());
 	}
 
@@ -167,4 +299,17 @@ class StubRepository {
 		return stubPerConsumerMatching;
 	}
 
+	private static final class JarEntries {
+
+		private final Map<File, Object> parsedStubs;
+
+		private final File otherEntries;
+
+		private JarEntries(Map<File, Object> parsedStubs, File otherEntries) {
+			this.parsedStubs = parsedStubs;
+			this.otherEntries = otherEntries;
+		}
+
+	}
+
 }
@@ -23,6 +23,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +55,12 @@ public class StubRunner implements StubRunning {
 
 	private final StubRunnerExecutor localStubRunner;
 
+	/**
+	 * Snapshot of the running stubs, computed when the stubs get started and reset when
+	 * they get stopped.
+	 */
+	private volatile RunningStubs runningStubs;
+
 	public StubRunner(StubRunnerOptions stubRunnerOptions, String repositoryPath,
 			StubConfiguration stubsConfiguration) {
 		this(stubRunnerOptions, repositoryPath, stubsConfiguration, new NoOpStubMessages<>());
@@ -67,12 +74,25 @@ public class StubRunner implements StubRunning {
 		this.stubRepository = new StubRepository(new File(repositoryPath), serverStubs, this.stubRunnerOptions,
 				stubsConfiguration);
 		AvailablePortScanner portScanner = new AvailablePortScanner(stubRunnerOptions.getMinPortValue(),
-				stubRunnerOptions.getMaxPortValue());
+				stubRunnerOptions.getMaxPortValue(), PortReservations.fromOptions(stubRunnerOptions));
 		this.localStubRunner = new StubRunnerExecutor(portScanner, contractVerifierMessaging, serverStubs);
 	}
 
 	@Override
 	public RunningStubs runStubs() {
+		RunningStubs running = this.runningStubs;
+		if (running != null) {
+			return running;
+		}
+		synchronized (this) {
+			if (this.runningStubs == null) {
+				this.runningStubs = startStubs();
+			}
+			return this.runningStubs;
+		}
+	}
+
+	private RunningStubs startStubs() {
 		registerShutdownHook();
 		RunningStubs stubs = this.localStubRunner.runStubs(this.stubRunnerOptions, this.stubRepository,
 				this.stubsConfiguration);
@@ -133,9 +153,17 @@ public class StubRunner implements StubRunning {
 		return this.localStubRunner.findStubUrl(ivyNotation);
 	}
 
+	/**
+	 * @return URL of the started stub indexed by all notations it can be found by
+	 */
+	Map<String, URL> stubUrls() {
+		return this.localStubRunner != null ? this.localStubRunner.stubUrls() : Collections.emptyMap();
+	}
+
 	@Override
 	public RunningStubs findAllRunningStubs() {
-		return this.localStubRunner.findAllRunningStubs();
+		RunningStubs running = this.runningStubs;
+		return running != null ? running : this.localStubRunner.findAllRunningStubs();
 	}
 
 	@Override
@@ -153,6 +181,11 @@ public class StubRunner implements StubRunning {
 		return this.localStubRunner.trigger(labelName);
 	}
 
+	@Override
+	public boolean trigger(Collection<String> labelNames, int times) {
+		return this.localStubRunner.trigger(labelNames, times);
+	}
+
 	@Override
 	public boolean trigger() {
 		return this.localStubRunner.trigger();
@@ -179,6 +212,7 @@ public class StubRunner implements StubRunning {
 
 	@Override
 	public void close() throws IOException {
+		this.runningStubs = null;
 		if (this.localStubRunner != null) {
 			this.localStubRunner.shutdown();
 		}
@@ -21,31 +21,25 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import groovy.json.JsonOutput;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.cloud.contract.spec.Contract;
-import org.springframework.cloud.contract.spec.internal.DslProperty;
-import org.springframework.cloud.contract.spec.internal.FromFileProperty;
-import org.springframework.cloud.contract.spec.internal.Headers;
-import org.springframework.cloud.contract.spec.internal.OutputMessage;
 import org.springframework.cloud.contract.stubrunner.AvailablePortScanner.PortCallback;
 import org.springframework.cloud.contract.stubrunner.provider.wiremock.WireMockHttpServerStub;
-import org.springframework.cloud.contract.verifier.converter.YamlContract;
 import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
 import org.springframework.cloud.contract.verifier.messaging.MessageVerifierSender;
-import org.springframework.cloud.contract.verifier.messaging.internal.ContractVerifierMessageMetadata;
 import org.springframework.cloud.contract.verifier.messaging.noop.NoOpStubMessages;
-import org.springframework.cloud.contract.verifier.util.BodyExtractor;
 
 /**
  * Runs stubs for a particular {@link StubServer}.
@@ -64,6 +58,16 @@ class StubRunnerExecutor implements StubFinder {
 
 	private StubServer stubServer;
 
+	/**
+	 * URL of the started stub indexed by every notation the stub can be found by.
+	 */
+	private volatile Map<String, URL> stubUrls = Collections.emptyMap();
+
+	/**
+	 * Output messages of the contracts, prepared when the stub gets started.
+	 */
+	private volatile Map<Contract, PreparedOutputMessage> preparedMessages = Collections.emptyMap();
+
 	private final YamlContractConverter yamlContractConverter = new YamlContractConverter();
 
 	StubRunnerExecutor(AvailablePortScanner portScanner, MessageVerifierSender<?> messageVerifierSender,
@@ -93,6 +97,8 @@ class StubRunnerExecutor implements StubFinder {
 		HttpServerStubConfigurer configurer = BeanUtils
 			.instantiateClass(stubRunnerOptions.getHttpServerStubConfigurer());
 		startStubServers(configurer, stubRunnerOptions, stubConfiguration, repository);
+		this.stubUrls = indexStubUrls();
+		this.preparedMessages = prepareMessages(this.stubServer.getContracts());
 		RunningStubs runningCollaborators = runningStubs();
 		log.info("All stubs are now running " + runningCollaborators.toString());
 		return runningCollaborators;
@@ -109,13 +115,39 @@ class StubRunnerExecutor implements StubFinder {
 		}
 	}
 
+	/**
+	 * @return URL of the started stub indexed by {@code artifactId},
+	 * {@code groupId:artifactId}, {@code groupId:artifactId:version} and
+	 * {@code groupId:artifactId:version:classifier} notations
+	 */
+	Map<String, URL> stubUrls() {
+		return this.stubUrls;
+	}
+
+	private Map<String, URL> indexStubUrls() {
+		StubConfiguration configuration = this.stubServer.stubConfiguration;
+		URL url = this.stubServer.getStubUrl();
+		Map<String, URL> index = new HashMap<>();
+		String notation = configuration.artifactId;
+		index.put(notation, url);
+		notation = configuration.groupId + ":" + notation;
+		index.put(notation, url);
+		notation = notation + ":" + configuration.version;
+		index.put(notation, url);
+		index.put(notation + ":" + configuration.classifier, url);
+		return Collections.unmodifiableMap(index);
+	}
+
 	String registeredMappings() {
 		return this.stubServer.registeredMappings();
 	}
 
 	@Override
 	public URL findStubUrl(String groupId, String artifactId) {
-		URL url = null;
+		URL url = this.stubUrls.get(groupId == null ? artifactId : groupId + ":" + artifactId);
+		if (url != null) {
+			return url;
+		}
 		if (groupId == null) {
 			url = findStubUrl(this.stubServer.stubConfiguration.artifactId.equals(artifactId));
 		}
@@ -131,6 +163,10 @@ class StubRunnerExecutor implements StubFinder {
 
 	@Override
 	public URL findStubUrl(String ivyNotation) {
+		URL url = this.stubUrls.get(ivyNotation);
+		if (url != null) {
+			return url;
+		}
 		String[] splitString = ivyNotation.split(":", -1);
 		if (splitString.length > 4) {
 			throw new IllegalArgumentException(
@@ -208,6 +244,32 @@ class StubRunnerExecutor implements StubFinder {
 		return true;
 	}
 
+	@Override
+	public boolean trigger(Collection<String> labelNames, int times) {
+		if (times <= 0) {
+			throw new IllegalArgumentException("Times has to be positive but was [" + times + "]");
+		}
+		Collection<PreparedOutputMessage> messages = new ArrayList<>();
+		for (Collection<Contract> it : getContracts().values()) {
+			for (Contract contract : it) {
+				if (labelNames.contains(contract.getLabel()) && contract.getOutputMessage() != null) {
+					PreparedOutputMessage message = this.preparedMessages.get(contract);
+					messages.add(message != null ? message
+							: new PreparedOutputMessage(contract, this.yamlContractConverter));
+				}
+			}
+		}
+		if (messages.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < times; i++) {
+			for (PreparedOutputMessage message : messages) {
+				message.send(this.messageVerifierSender);
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public boolean trigger() {
 		Collection<Contract> matchingContracts = new ArrayList<>();
@@ -243,35 +305,30 @@ class StubRunnerExecutor implements StubFinder {
 	}
 
 	private void sendMessage(Contract groovyDsl) {
-		OutputMessage outputMessage = groovyDsl.getOutputMessage();
-		DslProperty<?> body = outputMessage.getBody();
-		Headers headers = outputMessage.getHeaders();
-		List<YamlContract> yamlContracts = yamlContractConverter.convertTo(Collections.singleton(groovyDsl));
-		YamlContract contract = yamlContracts.get(0);
-		setMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT);
-
-		Object payload = null;
-		if (body != null && body.getClientValue() instanceof FromFileProperty) {
-			FromFileProperty fromFile = (FromFileProperty) body.getClientValue();
-			if (fromFile.isByte()) {
-				payload = fromFile.asBytes();
-			}
-			else {
-				payload = fromFile.asString();
-			}
-		}
-		else {
-			payload = JsonOutput
-				.toJson(BodyExtractor.extractClientValueFromBody(body == null ? null : body.getClientValue()));
+		PreparedOutputMessage message = this.preparedMessages.get(groovyDsl);
+		if (message == null) {
+			message = new PreparedOutputMessage(groovyDsl, this.yamlContractConverter);
 		}
-
-		this.messageVerifierSender.send(payload, headers == null ? null : headers.asStubSideMap(),
-				outputMessage.getSentTo().getClientValue(), contract);
+		message.send(this.messageVerifierSender);
 	}
 
-	private void setMessageType(YamlContract contract, ContractVerifierMessageMetadata.MessageType output) {
-		contract.metadata.put(ContractVerifierMessageMetadata.METADATA_KEY,
-				new ContractVerifierMessageMetadata(output));
+	private Map<Contract, PreparedOutputMessage> prepareMessages(Collection<Contract> contracts) {
+		Map<Contract, PreparedOutputMessage> messages = new IdentityHashMap<>();
+		for (Contract contract : contracts) {
+			if (contract.getOutputMessage() == null) {
+				continue;
+			}
+			try {
+				messages.put(contract, new PreparedOutputMessage(contract, this.yamlContractConverter));
+			}
+			catch (Exception ex) {
+				// will be prepared (and fail) when triggered
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to prepare the output message of contract [" + contract.getName() + "]", ex);
+				}
+			}
+		}
+		return messages;
 	}
 
 	private URL returnStubUrlIfMatches(boolean condition) {
@@ -280,7 +337,7 @@ class StubRunnerExecutor implements StubFinder {
 
 	private StubServer startStubServers(HttpServerStubConfigurer configurer, final StubRunnerOptions stubRunnerOptions,
 			final StubConfiguration stubConfiguration, StubRepository repository) {
-		final List<File> mappings = repository.getStubs();
+		final Map<File, Object> mappings = repository.getParsedStubs();
 		final Collection<Contract> contracts = repository.contracts;
 		Integer port = stubRunnerOptions.port(stubConfiguration);
 		boolean randomPort = randomPort(port);
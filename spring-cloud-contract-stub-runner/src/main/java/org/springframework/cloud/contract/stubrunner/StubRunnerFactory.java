@@ -70,27 +70,35 @@ class StubRunnerFactory {
 			log.warn("No stubs to download have been passed. Most likely you have forgotten to pass "
 					+ "them either via annotation or a property");
 		}
+		ParallelStubsExecutor executor = new ParallelStubsExecutor(this.stubRunnerOptions.getParallelism());
 		Collection<StubRunner> result = new ArrayList<>();
-		for (StubConfiguration stubsConfiguration : this.stubRunnerOptions.getDependencies()) {
-			Map.Entry<StubConfiguration, File> entry = this.stubDownloader.downloadAndUnpackStubJar(stubsConfiguration);
+		for (StubRunner stubRunner : executor.map(this.stubRunnerOptions.getDependencies(),
+				this::downloadAndCreateStubRunner)) {
+			if (stubRunner != null) {
+				result.add(stubRunner);
+			}
+		}
+		return result;
+	}
+
+	private StubRunner downloadAndCreateStubRunner(StubConfiguration stubsConfiguration) {
+		Map.Entry<StubConfiguration, File> entry = this.stubDownloader.downloadAndUnpackStubJar(stubsConfiguration);
+		if (log.isDebugEnabled()) {
+			log.debug("For stub configuration [" + stubsConfiguration + "] the downloaded entry is [" + entry + "]");
+		}
+		if (entry == null) {
+			return null;
+		}
+		Path path = resolvePath(entry.getValue());
+		File unpackedLocation = path.toFile();
+		if (this.stubRunnerOptions.isGenerateStubs()) {
 			if (log.isDebugEnabled()) {
 				log.debug(
-						"For stub configuration [" + stubsConfiguration + "] the downloaded entry is [" + entry + "]");
-			}
-			if (entry != null) {
-				Path path = resolvePath(entry.getValue());
-				File unpackedLocation = path.toFile();
-				if (this.stubRunnerOptions.isGenerateStubs()) {
-					if (log.isDebugEnabled()) {
-						log.debug(
-								"Flag to generate stubs at runtime was switched on. Will remove the current mappings and will generate new ones.");
-					}
-					generateMappingsAtRuntime(path);
-				}
-				result.add(createStubRunner(entry.getKey(), unpackedLocation));
+						"Flag to generate stubs at runtime was switched on. Will remove the current mappings and will generate new ones.");
 			}
+			generateMappingsAtRuntime(path);
 		}
-		return result;
+		return createStubRunner(entry.getKey(), unpackedLocation);
 	}
 
 	private void generateMappingsAtRuntime(Path path) {
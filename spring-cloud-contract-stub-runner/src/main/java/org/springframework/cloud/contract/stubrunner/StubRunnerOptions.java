@@ -141,13 +141,19 @@ public class StubRunnerOptions {
 	 */
 	final String serverId;
 
+	/**
+	 * Number of stubs that can be downloaded, unpacked and started concurrently. Defaults
+	 * to {@code 1} which means that stubs are processed one by one.
+	 */
+	private int parallelism = 1;
+
 	StubRunnerOptions(Integer minPortValue, Integer maxPortValue, Resource stubRepositoryRoot,
 			StubRunnerProperties.StubsMode stubsMode, String stubsClassifier,
 			Collection<StubConfiguration> dependencies, Map<StubConfiguration, Integer> stubIdsToPortMapping,
 			String username, String password, final StubRunnerProxyOptions stubRunnerProxyOptions,
 			boolean stubsPerConsumer, String consumerName, String mappingsOutputFolder, boolean deleteStubsAfterTest,
 			boolean generateStubs, boolean failOnNoStubs, Map<String, String> properties,
-			Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer, String serverId) {
+			Class<? extends HttpServerStubConfigurer> httpServerStubConfigurer, String serverId, int parallelism) {
 		this.minPortValue = minPortValue;
 		this.maxPortValue = maxPortValue;
 		this.stubRepositoryRoot = stubRepositoryRoot;
@@ -167,6 +173,7 @@ public class StubRunnerOptions {
 		this.properties = properties;
 		this.httpServerStubConfigurer = httpServerStubConfigurer;
 		this.serverId = serverId;
+		this.parallelism = Math.max(1, parallelism);
 	}
 
 	public static StubRunnerOptions fromSystemProps() {
@@ -193,7 +200,9 @@ public class StubRunnerOptions {
 			.withFailOnNoStubs(Boolean
 				.parseBoolean(System.getProperty("spring.cloud.contract.stubrunner.fail-on-no-stubs", "false")))
 			.withProperties(stubRunnerProps())
-			.withServerId(System.getProperty("spring.cloud.contract.stubrunner.server-id", ""));
+			.withServerId(System.getProperty("spring.cloud.contract.stubrunner.server-id", ""))
+			.withParallelism(
+					Integer.parseInt(System.getProperty("spring.cloud.contract.stubrunner.parallelism", "1")));
 		builder = httpStubConfigurer(builder);
 		String proxyHost = System.getProperty("spring.cloud.contract.stubrunner.proxy.host");
 		if (proxyHost != null) {
@@ -335,6 +344,10 @@ public class StubRunnerOptions {
 		return this.serverId;
 	}
 
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
 	public Class<? extends HttpServerStubConfigurer> getHttpServerStubConfigurer() {
 		return this.httpServerStubConfigurer;
 	}
@@ -348,7 +361,7 @@ public class StubRunnerOptions {
 				+ '\'' + ", password='" + obfuscate(this.password) + '\'' + ", stubRunnerProxyOptions='"
 				+ this.stubRunnerProxyOptions + "', stubsPerConsumer='" + this.stubsPerConsumer + '\''
 				+ ", httpServerStubConfigurer='" + this.httpServerStubConfigurer + '\'' + ", serverId='" + this.serverId
-				+ '\'' + '}';
+				+ '\'' + ", parallelism=" + this.parallelism + '}';
 	}
 
 	private String obfuscate(String string) {
@@ -20,6 +20,8 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.commons.logging.Log;
@@ -35,25 +37,41 @@ class StubServer {
 
 	final Collection<File> mappings;
 
+	final Map<File, Object> parsedMappings;
+
 	final Collection<Contract> contracts;
 
 	private final HttpServerStub httpServerStub;
 
 	StubServer(StubConfiguration stubConfiguration, Collection<File> mappings, Collection<Contract> contracts,
 			HttpServerStub httpServerStub) {
+		this(stubConfiguration, asParsedMappings(mappings), contracts, httpServerStub);
+	}
+
+	StubServer(StubConfiguration stubConfiguration, Map<File, Object> parsedMappings,
+			Collection<Contract> contracts, HttpServerStub httpServerStub) {
 		this.stubConfiguration = stubConfiguration;
-		this.mappings = mappings;
+		this.parsedMappings = parsedMappings;
+		this.mappings = parsedMappings.keySet();
 		this.httpServerStub = httpServerStub;
 		this.contracts = contracts;
 	}
 
+	private static Map<File, Object> asParsedMappings(Collection<File> mappings) {
+		Map<File, Object> parsedMappings = new LinkedHashMap<>();
+		for (File mapping : mappings) {
+			parsedMappings.put(mapping, mapping);
+		}
+		return parsedMappings;
+	}
+
 	public StubServer start(HttpServerStubConfiguration configuration) {
 		this.httpServerStub.start(configuration);
 		return stubServer();
 	}
 
 	private StubServer stubServer() {
-		this.httpServerStub.registerMappings(this.mappings);
+		this.httpServerStub.registerParsedMappings(this.parsedMappings);
 		log.info("Started stub server for project [" + this.stubConfiguration.toColonSeparatedDependencyNotation()
 				+ "] on port " + this.httpServerStub.port() + " with [" + this.mappings.size() + "] mappings");
 		if (this.mappings.isEmpty() && getPort() != -1) {
@@ -18,6 +18,10 @@ package org.springframework.cloud.contract.stubrunner;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 /**
  * Contract for triggering stub messages.
@@ -54,6 +58,63 @@ public interface StubTrigger {
 	 */
 	boolean trigger();
 
+	/**
+	 * Triggers events by the given labels, each of them the given number of times.
+	 * Useful for load-style tests that need to send a lot of messages.
+	 *
+	 * Feature related to messaging.
+	 * @param labelNames names of the labels to trigger
+	 * @param times how many times each label should be triggered, has to be positive
+	 * @return true - if managed to run a trigger
+	 * @throws IllegalArgumentException when {@code times} is not positive
+	 * @since 5.0.0
+	 */
+	default boolean trigger(Collection<String> labelNames, int times) {
+		if (times <= 0) {
+			throw new IllegalArgumentException("Times has to be positive but was [" + times + "]");
+		}
+		boolean success = false;
+		for (int i = 0; i < times; i++) {
+			for (String labelName : labelNames) {
+				success |= trigger(labelName);
+			}
+		}
+		return success;
+	}
+
+	/**
+	 * Asynchronous version of {@link #trigger(Collection, int)}. Sending messages may
+	 * block, so the messages are sent from a new thread instead of the common pool.
+	 *
+	 * Feature related to messaging.
+	 * @param labelNames names of the labels to trigger
+	 * @param times how many times each label should be triggered, has to be positive
+	 * @return future completed with true - if managed to run a trigger
+	 * @throws IllegalArgumentException when {@code times} is not positive
+	 * @since 5.0.0
+	 */
+	default CompletableFuture<Boolean> triggerAsync(Collection<String> labelNames, int times) {
+		return triggerAsync(labelNames, times, new SimpleAsyncTaskExecutor("stub-trigger-"));
+	}
+
+	/**
+	 * Asynchronous version of {@link #trigger(Collection, int)}.
+	 *
+	 * Feature related to messaging.
+	 * @param labelNames names of the labels to trigger
+	 * @param times how many times each label should be triggered, has to be positive
+	 * @param executor executor sending the messages
+	 * @return future completed with true - if managed to run a trigger
+	 * @throws IllegalArgumentException when {@code times} is not positive
+	 * @since 5.0.0
+	 */
+	default CompletableFuture<Boolean> triggerAsync(Collection<String> labelNames, int times, Executor executor) {
+		if (times <= 0) {
+			throw new IllegalArgumentException("Times has to be positive but was [" + times + "]");
+		}
+		return CompletableFuture.supplyAsync(() -> trigger(labelNames, times), executor);
+	}
+
 	/**
 	 * Feature related to messaging.
 	 * @return a mapping of ivy notation of a dependency to all the labels it has.
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.springframework.cloud.contract.stubrunner.util.ZipCategory.unzipTo;
+
+/**
+ * Persistent, content addressed cache of unpacked stub JARs. Each entry is keyed by the
+ * SHA-256 of the JAR and its classifier, so repeated runs against the same artifact skip
+ * the unzip entirely.
+ *
+ * Entries are unpacked to a staging folder and published with an atomic rename. A lock
+ * file guards publishing and eviction, so that parallel forks can share the same cache
+ * directory. When the size of the cache exceeds the configured maximum, the least
+ * recently used entries get evicted.
+ *
+ * Unpacked files are shared by all users of the cache, so they are made read-only.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class UnpackedStubsCache {
+
+	/**
+	 * Directory where the unpacked stubs should be stored. Setting it enables the cache.
+	 */
+	static final String CACHE_DIRECTORY_PROPERTY = "stubs.cache.directory";
+
+	/**
+	 * Max size of the cache (e.g. {@code 500MB}). Defaults to {@code 1GB}.
+	 */
+	static final String CACHE_MAX_SIZE_PROPERTY = "stubs.cache.max-size";
+
+	private static final Log log = LogFactory.getLog(UnpackedStubsCache.class);
+
+	private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofGigabytes(1);
+
+	/**
+	 * Entries accessed within this period are never evicted, since another process might
+	 * still be running stubs from them.
+	 */
+	private static final long EVICTION_GRACE_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+	private static final String LOCK_FILE = ".lock";
+
+	private static final String STAGING_PREFIX = ".staging-";
+
+	private static final String STUBS_FOLDER = "stubs";
+
+	private static final String LAST_ACCESS_FILE = "last-access";
+
+	private static final String SIZE_FILE = "size";
+
+	private static final Object MONITOR = new Object();
+
+	private final Path root;
+
+	private final long maxSizeInBytes;
+
+	UnpackedStubsCache(Path root, long maxSizeInBytes) {
+		this.root = root;
+		this.maxSizeInBytes = maxSizeInBytes;
+	}
+
+	/**
+	 * @param options stub runner options
+	 * @return cache or {@code null} when the cache was not configured or can't be used
+	 */
+	static UnpackedStubsCache fromOptions(StubRunnerOptions options) {
+		Map<String, String> properties = options.getProperties();
+		String directory = StubRunnerPropertyUtils.getProperty(properties, CACHE_DIRECTORY_PROPERTY);
+		if (!StringUtils.hasText(directory)) {
+			return null;
+		}
+		if (options.isGenerateStubs()) {
+			log.warn("Unpacked stubs cache is not used when stubs are generated at runtime, "
+					+ "since the generation modifies the unpacked stubs");
+			return null;
+		}
+		String maxSize = StubRunnerPropertyUtils.getProperty(properties, CACHE_MAX_SIZE_PROPERTY);
+		DataSize size = StringUtils.hasText(maxSize) ? DataSize.parse(maxSize) : DEFAULT_MAX_SIZE;
+		if (log.isDebugEnabled()) {
+			log.debug("Will cache unpacked stubs under [" + directory + "] with max size [" + size + "]");
+		}
+		return new UnpackedStubsCache(new File(directory).toPath(), size.toBytes());
+	}
+
+	/**
+	 * Returns the folder with the unpacked contents of the given JAR. Unpacks the JAR
+	 * only if there is no cache entry for it yet. The returned folder is the cache entry
+	 * itself, callers must not modify its contents.
+	 * @param jar stub JAR
+	 * @param classifier classifier of the stub JAR
+	 * @return folder with the unpacked, read-only stubs
+	 */
+	File unpacked(File jar, String classifier) {
+		try {
+			Files.createDirectories(this.root);
+			Path entry = this.root.resolve(key(jar, classifier));
+			Path stubs = entry.resolve(STUBS_FOLDER);
+			if (Files.isDirectory(stubs) && reuse(jar, entry)) {
+				return stubs.toFile();
+			}
+			Path staging = this.root.resolve(STAGING_PREFIX + UUID.randomUUID());
+			try {
+				unpackToStaging(jar, staging);
+				publish(staging, entry);
+			}
+			finally {
+				// left over when unpacking or publishing failed
+				deleteQuietly(staging);
+			}
+			return stubs.toFile();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Exception occurred while trying to cache unpacked stub JAR [" + jar + "]",
+					ex);
+		}
+	}
+
+	/**
+	 * Re-validates the entry under the lock, so that it can't get evicted in the
+	 * meantime. Touching the entry protects it from eviction for the grace period.
+	 */
+	private boolean reuse(File jar, Path entry) throws IOException {
+		AtomicBoolean reused = new AtomicBoolean();
+		withLock(() -> {
+			if (Files.isDirectory(entry.resolve(STUBS_FOLDER))) {
+				log.info("Reusing unpacked stub from cache [" + entry + "] for JAR [" + jar + "]");
+				touch(entry);
+				reused.set(true);
+			}
+		});
+		return reused.get();
+	}
+
+	private String key(File jar, String classifier) throws IOException {
+		try (InputStream stream = Files.newInputStream(jar.toPath())) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+			String prefix = StringUtils.hasText(classifier) ? classifier + "-" : "";
+			return prefix + HexFormat.of().formatHex(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private void unpackToStaging(File jar, Path staging) throws IOException {
+		Path stubs = Files.createDirectories(staging.resolve(STUBS_FOLDER));
+		log.info("Unpacking stub from JAR [" + jar + "] to cache");
+		unzipTo(jar, stubs.toFile());
+		makeReadOnly(stubs);
+		Files.write(staging.resolve(SIZE_FILE), String.valueOf(size(stubs)).getBytes(StandardCharsets.UTF_8));
+		Files.createFile(staging.resolve(LAST_ACCESS_FILE));
+	}
+
+	private void publish(Path staging, Path entry) throws IOException {
+		withLock(() -> {
+			if (Files.isDirectory(entry.resolve(STUBS_FOLDER))) {
+				// another process was faster
+				delete(staging);
+				touch(entry);
+				return;
+			}
+			if (Files.exists(entry)) {
+				log.info("Replacing incomplete unpacked stub [" + entry + "] in cache");
+				remove(entry);
+			}
+			try {
+				Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException | FileAlreadyExistsException ex) {
+				delete(staging);
+				if (!Files.isDirectory(entry.resolve(STUBS_FOLDER))) {
+					throw ex;
+				}
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Published unpacked stub to cache [" + entry + "]");
+			}
+			evict(entry);
+		});
+	}
+
+	private void evict(Path justPublished) throws IOException {
+		deleteStaleStagingFolders();
+		List<Path> entries = new ArrayList<>();
+		long totalSize = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.root, this::isEntry)) {
+			for (Path entry : stream) {
+				entries.add(entry);
+				totalSize += entrySize(entry);
+			}
+		}
+		if (totalSize <= this.maxSizeInBytes) {
+			return;
+		}
+		entries.sort(Comparator.comparing(this::lastAccess));
+		long now = System.currentTimeMillis();
+		for (Path entry : entries) {
+			if (totalSize <= this.maxSizeInBytes) {
+				return;
+			}
+			if (entry.equals(justPublished) || now - lastAccess(entry).toMillis() < EVICTION_GRACE_PERIOD_MILLIS) {
+				continue;
+			}
+			long size = entrySize(entry);
+			log.info("Evicting unpacked stub [" + entry + "] from cache");
+			remove(entry);
+			totalSize -= size;
+		}
+	}
+
+	private void remove(Path entry) throws IOException {
+		// rename first so that no one picks up a partially removed entry
+		Path removed = this.root.resolve(STAGING_PREFIX + UUID.randomUUID());
+		Files.move(entry, removed, StandardCopyOption.ATOMIC_MOVE);
+		delete(removed);
+	}
+
+	/**
+	 * Staging folders are left over when a process died while unpacking. They are not
+	 * entries, so they would never be evicted otherwise.
+	 */
+	private void deleteStaleStagingFolders() throws IOException {
+		long now = System.currentTimeMillis();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.root,
+				path -> path.getFileName().toString().startsWith(STAGING_PREFIX) && Files.isDirectory(path))) {
+			for (Path staging : stream) {
+				if (now - Files.getLastModifiedTime(staging).toMillis() >= EVICTION_GRACE_PERIOD_MILLIS) {
+					log.info("Deleting stale staging folder [" + staging + "] from cache");
+					deleteQuietly(staging);
+				}
+			}
+		}
+	}
+
+	private boolean isEntry(Path path) {
+		String name = path.getFileName().toString();
+		return Files.isDirectory(path) && !name.startsWith(STAGING_PREFIX);
+	}
+
+	private long entrySize(Path entry) {
+		try {
+			return Long.parseLong(new String(Files.readAllBytes(entry.resolve(SIZE_FILE)), StandardCharsets.UTF_8));
+		}
+		catch (IOException | NumberFormatException ex) {
+			return 0L;
+		}
+	}
+
+	private FileTime lastAccess(Path entry) {
+		try {
+			return Files.getLastModifiedTime(entry.resolve(LAST_ACCESS_FILE));
+		}
+		catch (IOException ex) {
+			return FileTime.fromMillis(0L);
+		}
+	}
+
+	private void touch(Path entry) {
+		try {
+			Files.setLastModifiedTime(entry.resolve(LAST_ACCESS_FILE), FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to update last access time of [" + entry + "]", ex);
+			}
+		}
+	}
+
+	private void withLock(LockedAction action) throws IOException {
+		// file locks are held on behalf of the whole JVM
+		synchronized (MONITOR) {
+			try (FileChannel channel = FileChannel.open(this.root.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				action.run();
+			}
+		}
+	}
+
+	private static long size(Path path) throws IOException {
+		AtomicLong size = new AtomicLong();
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				size.addAndGet(attrs.size());
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return size.get();
+	}
+
+	private static void makeReadOnly(Path path) throws IOException {
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				file.toFile().setReadOnly();
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static void delete(Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return;
+		}
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				// read-only files can't be deleted on Windows
+				file.toFile().setWritable(true);
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			delete(path);
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to delete [" + path + "]", ex);
+			}
+		}
+	}
+
+	private interface LockedAction {
+
+		void run() throws IOException;
+
+	}
+
+}
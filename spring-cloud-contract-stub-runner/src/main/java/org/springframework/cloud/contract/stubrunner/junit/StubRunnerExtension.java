@@ -176,6 +176,15 @@ public class StubRunnerExtension implements BeforeAllCallback, AfterAllCallback,
 		return result;
 	}
 
+	@Override
+	public boolean trigger(Collection<String> labelNames, int times) {
+		boolean result = stubFinder().trigger(labelNames, times);
+		if (!result) {
+			throw new IllegalStateException("Failed to trigger messages with labels " + labelNames);
+		}
+		return result;
+	}
+
 	@Override
 	public boolean trigger() {
 		boolean result = stubFinder().trigger();
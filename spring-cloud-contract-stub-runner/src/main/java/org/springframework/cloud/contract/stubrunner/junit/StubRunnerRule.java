@@ -257,6 +257,15 @@ public class StubRunnerRule implements TestRule, StubFinder, StubRunnerRuleOptio
 		return result;
 	}
 
+	@Override
+	public boolean trigger(Collection<String> labelNames, int times) {
+		boolean result = this.stubFinder().trigger(labelNames, times);
+		if (!result) {
+			throw new IllegalStateException("Failed to trigger messages with labels " + labelNames);
+		}
+		return result;
+	}
+
 	@Override
 	public boolean trigger() {
 		boolean result = this.stubFinder().trigger();
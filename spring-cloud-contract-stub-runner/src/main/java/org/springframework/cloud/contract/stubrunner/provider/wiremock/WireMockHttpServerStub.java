@@ -21,10 +21,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,8 +37,6 @@ import com.github.tomakehurst.wiremock.common.JsonException;
 import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.extension.Extension;
-import com.github.tomakehurst.wiremock.security.ClientAuthenticator;
-import com.github.tomakehurst.wiremock.security.NoClientAuthenticator;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -76,8 +76,6 @@ public class WireMockHttpServerStub implements HttpServerStub {
 
 	private boolean https = false;
 
-	private WireMockConfiguration wireMockConfiguration;
-
 	private WireMockConfiguration config() {
 		if (ClassUtils.isPresent("org.springframework.cloud.contract.wiremock.WireMockSpring", null)) {
 			return WireMockSpring.options().extensions(responseTransformers());
@@ -132,7 +130,6 @@ public class WireMockHttpServerStub implements HttpServerStub {
 			HttpServerStubConfigurer<WireMockConfiguration> configurer = configuration.configurer;
 			wireMockConfiguration = configurer.configure(wireMockConfiguration, configuration);
 		}
-		this.wireMockConfiguration = wireMockConfiguration;
 		this.https = wireMockConfiguration.httpsSettings().enabled();
 		port = this.https ? wireMockConfiguration.httpsSettings().port() : wireMockConfiguration.portNumber();
 		this.wireMockServer = new WireMockServer(wireMockConfiguration);
@@ -177,7 +174,20 @@ public class WireMockHttpServerStub implements HttpServerStub {
 		if (!isRunning()) {
 			throw new IllegalStateException("Server not started!");
 		}
-		registerStubMappings(stubFiles);
+		Map<File, Object> mappings = new LinkedHashMap<>();
+		for (File stubFile : stubFiles) {
+			mappings.put(stubFile, stubFile);
+		}
+		registerStubMappings(mappings);
+		return this;
+	}
+
+	@Override
+	public HttpServerStub registerParsedMappings(Map<File, Object> parsedMappings) {
+		if (!isRunning()) {
+			throw new IllegalStateException("Server not started!");
+		}
+		registerStubMappings(parsedMappings);
 		return this;
 	}
 
@@ -196,21 +206,41 @@ public class WireMockHttpServerStub implements HttpServerStub {
 
 	@Override
 	public boolean isAccepted(File file) {
-		return file.getName().endsWith(".json") && validMapping(file);
+		return parseMapping(file) != null;
 	}
 
-	private boolean validMapping(File file) {
+	@Override
+	public StubMapping parseMapping(File file) {
+		if (!file.getName().endsWith(".json")) {
+			return null;
+		}
 		try {
-			getMapping(file);
-			return true;
+			return getMapping(file);
 		}
 		catch (IllegalStateException e) {
-			return false;
+			return null;
+		}
+	}
+
+	@Override
+	public StubMapping parseMapping(Path path) {
+		if (!path.getFileName().toString().endsWith(".json")) {
+			return null;
+		}
+		try {
+			return getMapping(path);
+		}
+		catch (IllegalStateException e) {
+			return null;
 		}
 	}
 
 	StubMapping getMapping(File file) {
-		try (InputStream stream = Files.newInputStream(file.toPath())) {
+		return getMapping(file.toPath());
+	}
+
+	private StubMapping getMapping(Path path) {
+		try (InputStream stream = Files.newInputStream(path)) {
 			return StubMapping.buildFrom(StreamUtils.copyToString(stream, Charset.forName("UTF-8")));
 		}
 		catch (IOException | JsonException e) {
@@ -218,34 +248,29 @@ public class WireMockHttpServerStub implements HttpServerStub {
 		}
 	}
 
-	private void registerStubMappings(Collection<File> stubFiles) {
-		WireMock wireMock = wireMock();
-		registerDefaultHealthChecks(wireMock);
-		registerStubs(stubFiles, wireMock);
-	}
-
-	private WireMock wireMock() {
-		String scheme = this.https ? "https" : "http";
-		String host = "localhost";
-		int port = port();
-		String urlPathPrefix = "";
-		String hostHeader = "";
-		String proxyHost = this.wireMockConfiguration.proxyHostHeader();
-		int proxyPort = this.wireMockConfiguration.proxyVia().port();
-		ClientAuthenticator authenticator = NoClientAuthenticator.noClientAuthenticator();
-		return new WireMock(scheme, host, port, urlPathPrefix, hostHeader, proxyHost, proxyPort, authenticator);
+	private void registerStubMappings(Map<File, Object> stubFiles) {
+		registerDefaultHealthChecks();
+		registerStubs(stubFiles);
 	}
 
-	private void registerDefaultHealthChecks(WireMock wireMock) {
-		registerHealthCheck(wireMock, "/ping");
-		registerHealthCheck(wireMock, "/health");
+	private void registerDefaultHealthChecks() {
+		registerHealthCheck("/ping");
+		registerHealthCheck("/health");
 	}
 
-	private void registerStubs(Collection<File> sortedMappings, WireMock wireMock) {
+	/**
+	 * Registers the mappings directly in the running {@link WireMockServer} instead of
+	 * going through the HTTP admin API. That way we avoid one HTTP round trip and JSON
+	 * serialization per mapping.
+	 * @param sortedMappings mapping files to register together with their already parsed
+	 * mappings
+	 */
+	private void registerStubs(Map<File, Object> sortedMappings) {
 		List<StubMapping> stubMappings = new ArrayList<>();
-		for (File mappingDescriptor : sortedMappings) {
+		for (Map.Entry<File, Object> entry : sortedMappings.entrySet()) {
+			File mappingDescriptor = entry.getKey();
 			try {
-				stubMappings.add(registerDescriptor(wireMock, mappingDescriptor));
+				stubMappings.add(registerDescriptor(mappingDescriptor, entry.getValue()));
 				if (log.isDebugEnabled()) {
 					log.debug("Registered stub mappings from [" + mappingDescriptor + "]");
 				}
@@ -260,18 +285,20 @@ public class WireMockHttpServerStub implements HttpServerStub {
 		SERVERS.put(this, new PortAndMappings(portAndMappings.random, portAndMappings.port, stubMappings));
 	}
 
-	private StubMapping registerDescriptor(WireMock wireMock, File mappingDescriptor) {
-		StubMapping mapping = getMapping(mappingDescriptor);
-		wireMock.register(mapping);
+	private StubMapping registerDescriptor(File mappingDescriptor, Object parsedMapping) {
+		// parsed mapping might come from a different HTTP server stub
+		StubMapping mapping = parsedMapping instanceof StubMapping ? (StubMapping) parsedMapping
+				: getMapping(mappingDescriptor);
+		this.wireMockServer.addStubMapping(mapping);
 		return mapping;
 	}
 
-	private void registerHealthCheck(WireMock wireMock, String url) {
-		registerHealthCheck(wireMock, url, "OK");
+	private void registerHealthCheck(String url) {
+		registerHealthCheck(url, "OK");
 	}
 
-	private void registerHealthCheck(WireMock wireMock, String url, String body) {
-		wireMock.register(
+	private void registerHealthCheck(String url, String body) {
+		this.wireMockServer.stubFor(
 				WireMock.get(WireMock.urlEqualTo(url)).willReturn(WireMock.aResponse().withBody(body).withStatus(200)));
 	}
 
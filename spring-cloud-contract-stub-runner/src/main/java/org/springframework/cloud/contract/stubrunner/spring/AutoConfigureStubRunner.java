@@ -150,6 +150,11 @@ public @interface AutoConfigureStubRunner {
 	 */
 	boolean failOnNoStubs() default true;
 
+	/**
+	 * @return number of stubs that can be downloaded, unpacked and started concurrently.
+	 */
+	int parallelism() default 1;
+
 	/**
 	 * Configuration for an HTTP server stub.
 	 * @return class that allows to perform additional HTTP server stub configuration
@@ -118,7 +118,8 @@ public class StubRunnerConfiguration {
 			.withProperties(props.getProperties())
 			.withHttpServerStubConfigurer(props.getHttpServerStubConfigurer())
 			.withServerId(resolvePlaceholder(props.getServerId()))
-			.withFailOnNoStubs(props.isFailOnNoStubs());
+			.withFailOnNoStubs(props.isFailOnNoStubs())
+			.withParallelism(props.getParallelism());
 	}
 
 	private String[] resolvePlaceholder(String[] string) {
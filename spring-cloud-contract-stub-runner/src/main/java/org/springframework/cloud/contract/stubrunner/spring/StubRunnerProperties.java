@@ -136,6 +136,12 @@ public class StubRunnerProperties {
 	 */
 	private String serverId;
 
+	/**
+	 * Number of stubs that can be downloaded, unpacked and started concurrently. Set to a
+	 * value greater than {@code 1} to speed up the startup of many stubs.
+	 */
+	private int parallelism = 1;
+
 	public int getMinPort() {
 		return this.minPort;
 	}
@@ -294,6 +300,14 @@ public class StubRunnerProperties {
 		this.serverId = serverId;
 	}
 
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	@Override
 	public String toString() {
 		return "StubRunnerProperties{" + "minPort=" + this.minPort + ", maxPort=" + this.maxPort + ", repositoryRoot="
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class AetherResolutionCacheSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def 'should resolve a version only once while the entry is not expired'() {
+		given:
+			AetherResolutionCache cache = new AetherResolutionCache(Duration.ofMinutes(1), null, new ConcurrentHashMap<>())
+			int resolutions = 0
+		when:
+			String first = cache.version("com.example:foo:jar:stubs:(,]", { resolutions++; "1.0.0" })
+			String second = cache.version("com.example:foo:jar:stubs:(,]", { resolutions++; "2.0.0" })
+		then:
+			first == "1.0.0"
+			second == "1.0.0"
+			resolutions == 1
+	}
+
+	def 'should resolve again when the entry expired'() {
+		given:
+			AetherResolutionCache cache = new AetherResolutionCache(Duration.ZERO, null, new ConcurrentHashMap<>())
+		expect:
+			cache.version("com.example:foo:jar:stubs:(,]", { "1.0.0" }) == "1.0.0"
+			cache.version("com.example:foo:jar:stubs:(,]", { "2.0.0" }) == "2.0.0"
+	}
+
+	def 'should resolve an artifact again when the cached file no longer exists'() {
+		given:
+			AetherResolutionCache cache = new AetherResolutionCache(Duration.ofMinutes(1), null, new ConcurrentHashMap<>())
+			File jar = folder.newFile("foo.jar")
+			File otherJar = folder.newFile("other.jar")
+		expect:
+			cache.artifact("com.example:foo:jar:stubs:1.0.0", { jar }) == jar.absoluteFile
+		when:
+			jar.delete()
+		then:
+			cache.artifact("com.example:foo:jar:stubs:1.0.0", { otherJar }) == otherJar.absoluteFile
+	}
+
+	def 'should reuse resolutions stored on disk by another process'() {
+		given:
+			File directory = folder.newFolder("cache")
+			new AetherResolutionCache(Duration.ofMinutes(1), directory.toPath(), new ConcurrentHashMap<>())
+				.version("com.example:foo:jar:stubs:(,]", { "1.0.0" })
+		expect:
+			new AetherResolutionCache(Duration.ofMinutes(1), directory.toPath(), new ConcurrentHashMap<>())
+				.version("com.example:foo:jar:stubs:(,]", { "2.0.0" }) == "1.0.0"
+			directory.list().findAll { it.startsWith(".staging-") }.isEmpty()
+	}
+
+	def 'should not leave a staging file behind when the entry could not be stored'() {
+		given:
+			File directory = folder.newFolder("cache")
+			// a directory in place of the entry makes the move fail
+			File entry = new File(directory, AetherResolutionCache.hash("version:com.example:foo:jar:stubs:(,]"))
+			entry.mkdirs()
+			new File(entry, "foo").text = "foo"
+		when:
+			String version = new AetherResolutionCache(Duration.ofMinutes(1), directory.toPath(), new ConcurrentHashMap<>())
+				.version("com.example:foo:jar:stubs:(,]", { "1.0.0" })
+		then:
+			version == "1.0.0"
+			directory.list().findAll { it.startsWith(".staging-") }.isEmpty()
+	}
+
+	def 'should not be enabled by default'() {
+		expect:
+			AetherResolutionCache.fromOptions(new StubRunnerOptionsBuilder().build()) == null
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.contract.stubrunner
 
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 
 class AvailablePortScannerSpec extends Specification {
@@ -24,6 +26,9 @@ class AvailablePortScannerSpec extends Specification {
 	private static final int MAX_PORT = 8990
 	private static final int MAX_RETRY_COUNT_FOR_NEGATIVE_SCENARIOS = 2
 
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
 	def 'should execute given closure with the next available port number'() {
 		given:
 			AvailablePortScanner portScanner = new AvailablePortScanner(MIN_PORT, MAX_PORT)
@@ -67,4 +72,25 @@ class AvailablePortScannerSpec extends Specification {
 			def ex = thrown(AvailablePortScanner.NoPortAvailableException)
 			ex.message == "Could not find available port in range $MIN_PORT:$MAX_PORT"
 	}
+
+	def 'should take the ports from the block reserved by this JVM'() {
+		given:
+			File directory = folder.newFolder("ports")
+			AvailablePortScanner portScanner = new AvailablePortScanner(MIN_PORT, MAX_PORT,
+					PortReservations.of(directory.toPath(), MIN_PORT, MAX_PORT, 2))
+			long allocations = AvailablePortScanner.metrics().allocations
+		when:
+			int firstPort = portScanner.tryToExecuteWithFreePort { int port -> port }
+			int secondPort = portScanner.tryToExecuteWithFreePort { int port -> port }
+		then:
+			firstPort == MIN_PORT
+			secondPort == MAX_PORT
+			new File(directory, "${MIN_PORT}.block").text == String.valueOf(ProcessHandle.current().pid())
+			AvailablePortScanner.metrics().allocations == allocations + 2
+	}
+
+	def 'should not reserve ports by default'() {
+		expect:
+			PortReservations.fromOptions(new StubRunnerOptionsBuilder().build()) == null
+	}
 }
@@ -50,6 +50,48 @@ class BatchStubRunnerSpec extends Specification {
 			exception.message == "No label with name [non existing label] was found. Here you have the list of dependencies and their labels [Dependency [a:b:c] has labels [foo]]"
 	}
 
+	def 'should start the stubs once and reuse the running stubs until closed'() {
+		given:
+			StubRunner runner = Mock(StubRunner)
+			BatchStubRunner batchStubRunner = new BatchStubRunner([runner])
+		when:
+			RunningStubs first = batchStubRunner.runStubs()
+			RunningStubs second = batchStubRunner.runStubs()
+		then:
+			1 * runner.runStubs() >> new RunningStubs([(new StubConfiguration("a:b:c")): 1234])
+			first.is(second)
+			second.toIvyToPortMapping() == ["a:b:c:stubs": 1234]
+		when:
+			batchStubRunner.close()
+			batchStubRunner.runStubs()
+		then:
+			1 * runner.runStubs() >> new RunningStubs([(new StubConfiguration("a:b:c")): 1234])
+	}
+
+	def 'should find the stub URLs in the index built when the stubs got started'() {
+		given:
+			StubRunner runner = Mock(StubRunner)
+			runner.runStubs() >> new RunningStubs([:])
+			runner.stubUrls() >> ["knownArtifact": KNOWN_STUB_URL, "group:knownArtifact": KNOWN_STUB_URL]
+			BatchStubRunner batchStubRunner = new BatchStubRunner([runner])
+			batchStubRunner.runStubs()
+		when:
+			URL byIvy = batchStubRunner.findStubUrl(KNOWN_STUB_PATH)
+			URL byGroupAndArtifact = batchStubRunner.findStubUrl("group", "knownArtifact")
+			URL byArtifact = batchStubRunner.findStubUrl(null, "knownArtifact")
+		then:
+			byIvy == KNOWN_STUB_URL
+			byGroupAndArtifact == KNOWN_STUB_URL
+			byArtifact == KNOWN_STUB_URL
+			0 * runner.findStubUrl(_)
+			0 * runner.findStubUrl(_, _)
+		when:
+			batchStubRunner.findStubUrl(UNKNOWN_STUB_PATH)
+		then:
+			thrown(StubNotFoundException)
+			0 * runner.findStubUrl(_)
+	}
+
 	Collection<StubRunner> runners() {
 		StubRunner runner = Mock(StubRunner)
 		runner.findStubUrl("group", "knownArtifact") >> KNOWN_STUB_URL
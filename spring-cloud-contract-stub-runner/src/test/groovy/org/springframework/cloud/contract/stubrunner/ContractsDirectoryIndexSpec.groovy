@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class ContractsDirectoryIndexSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def 'should find stubs in both group and artifact folder layouts'() {
+		given:
+			File root = folder.newFolder("repo")
+			new File(root, "com/example/com.example/foo/1.0.0").mkdirs()
+			new File(root, "com.example.bar/1.0.0").mkdirs()
+			new File(root, "com.example.bar/2.0.0").mkdirs()
+			ContractsDirectoryIndex index = ContractsDirectoryIndex.forDirectory(root)
+		expect:
+			index.find(new StubConfiguration("com.example", "foo", "1.0.0")).toFile() ==
+					new File(root, "com/example/com.example/foo/1.0.0").absoluteFile
+			index.find(new StubConfiguration("com.example", "bar", "+")).toFile() ==
+					new File(root, "com.example.bar/2.0.0").absoluteFile
+			index.find(new StubConfiguration("com.example", "bar", "3.0.0")) == null
+			index.find(new StubConfiguration("com.example", "baz", "1.0.0")) == null
+	}
+
+	def 'should reuse the index of a directory that is not a Git repository'() {
+		given:
+			File root = folder.newFolder("repo")
+		expect:
+			ContractsDirectoryIndex.forDirectory(root).is(ContractsDirectoryIndex.forDirectory(root))
+	}
+
+}
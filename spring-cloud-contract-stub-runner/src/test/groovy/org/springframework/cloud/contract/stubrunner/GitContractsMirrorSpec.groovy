@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.util.concurrent.CompletableFuture
+
+import org.eclipse.jgit.api.Git
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class GitContractsMirrorSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def 'should export only the contracts of the requested stub from the mirror'() {
+		given:
+			File origin = folder.newFolder("origin")
+			Git.init().setDirectory(origin).setInitialBranch("master").call().withCloseable { Git git ->
+				file(origin, "com.example/foo/1.0.0/foo.json")
+				file(origin, "com.example/bar/1.0.0/bar.json")
+				file(origin, "org.com.example/foo/1.0.0/other.json")
+				file(origin, "xcom.example.foo/1.0.0/other.json")
+				git.add().addFilepattern(".").call()
+				git.commit().setMessage("contracts").call()
+			}
+		and:
+			File cacheDir = folder.newFolder("cache")
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties([(GitContractsMirror.CACHE_DIRECTORY_PROPERTY): cacheDir.absolutePath,
+									 "git.ensure-git-suffix"                      : "false"])
+					.build()
+			GitContractsMirror mirror = GitContractsMirror.fromOptions(
+					new GitResource("git://file://" + origin.absolutePath), options)
+			StubConfiguration stub = new StubConfiguration("com.example", "foo", "1.0.0")
+		when:
+			File contracts = mirror.contractsFor(stub)
+		then:
+			new File(contracts, "com.example/foo/1.0.0/foo.json").text == "com.example/foo/1.0.0/foo.json"
+			!new File(contracts, "com.example/bar").exists()
+			!new File(contracts, "org.com.example").exists()
+			!new File(contracts, "xcom.example.foo").exists()
+			cacheDir.listFiles().findAll { it.name.endsWith(".git") }.size() == 1
+		and:
+			mirror.contractsFor(stub) == contracts
+	}
+
+	def 'should let concurrent callers wait for the mirror to be fetched'() {
+		given:
+			File origin = folder.newFolder("origin")
+			Git.init().setDirectory(origin).setInitialBranch("master").call().withCloseable { Git git ->
+				(1..8).each { file(origin, "com.example/foo${it}/1.0.0/foo.json") }
+				git.add().addFilepattern(".").call()
+				git.commit().setMessage("contracts").call()
+			}
+		and:
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties([(GitContractsMirror.CACHE_DIRECTORY_PROPERTY): folder.newFolder("cache").absolutePath,
+									 "git.ensure-git-suffix"                      : "false"])
+					.build()
+			GitContractsMirror mirror = GitContractsMirror.fromOptions(
+					new GitResource("git://file://" + origin.absolutePath), options)
+		when:
+			List<File> contracts = (1..8).collect { int index ->
+				CompletableFuture.supplyAsync {
+					mirror.contractsFor(new StubConfiguration("com.example", "foo${index}", "1.0.0"))
+				}
+			}*.join()
+		then:
+			contracts.eachWithIndex { File exported, int index ->
+				assert new File(exported, "com.example/foo${index + 1}/1.0.0/foo.json").exists()
+			}
+	}
+
+	def 'should not be enabled by default'() {
+		expect:
+			GitContractsMirror.fromOptions(new GitResource("git://https://foo.com"),
+					new StubRunnerOptionsBuilder().build()) == null
+	}
+
+	private void file(File root, String path) {
+		File file = new File(root, path)
+		file.parentFile.mkdirs()
+		file.text = path
+	}
+
+}
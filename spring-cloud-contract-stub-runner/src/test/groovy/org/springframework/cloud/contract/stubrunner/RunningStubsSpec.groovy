@@ -84,4 +84,13 @@ class RunningStubsSpec extends Specification {
 			runningStubs.isPresent('missing artifact id') == false
 	}
 
+	def "should return copies of the ivy to port mapping and services names"() {
+		when:
+			runningStubs.toIvyToPortMapping().put('group:other:version:classifier', 200)
+			runningStubs.getAllServicesNames().add('other')
+		then:
+			runningStubs.toIvyToPortMapping() == ['group:artifact:version:classifier': 100]
+			runningStubs.getAllServicesNames() == ['artifact'] as Set
+	}
+
 }
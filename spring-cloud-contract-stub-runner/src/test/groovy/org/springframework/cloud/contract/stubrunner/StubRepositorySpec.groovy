@@ -16,12 +16,23 @@
 
 package org.springframework.cloud.contract.stubrunner
 
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+import com.github.tomakehurst.wiremock.stubbing.StubMapping
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 
+import org.springframework.cloud.contract.spec.Contract
+
 class StubRepositorySpec extends Specification {
 	public static
 	final File REPOSITORY_LOCATION = new File('src/test/resources/repository')
 
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
 	def 'should retrieve all descriptors for given project'() {
 		given:
 			StubRepository repository = new StubRepository(REPOSITORY_LOCATION,
@@ -33,6 +44,45 @@ class StubRepositorySpec extends Specification {
 			descriptors.size() == expectedDescriptorsSize
 	}
 
+	def 'should parse each descriptor only once and keep the parsed mapping'() {
+		given:
+			List<File> parsedFiles = []
+			HttpServerStub httpServerStub = Mock(HttpServerStub)
+		when:
+			StubRepository repository = new StubRepository(REPOSITORY_LOCATION,
+					[httpServerStub], new StubRunnerOptionsBuilder().build(), null)
+		then:
+			_ * httpServerStub.parseMapping(_ as File) >> { File file ->
+				parsedFiles << file
+				return isUnderMappings(file) && file.name.endsWith(".json") ? "parsed " + file.name : null
+			}
+			0 * httpServerStub.isAccepted(_)
+		and:
+			!parsedFiles.isEmpty()
+			parsedFiles.size() == parsedFiles.toSet().size()
+			repository.getParsedStubs().keySet().toList() == repository.getStubs()
+			repository.getParsedStubs().every { File file, Object parsed -> parsed == "parsed " + file.name }
+		when:
+			new StubServer(new StubConfiguration("a:b:c"), repository.getParsedStubs(), repository.getContracts(),
+					httpServerStub).start(null)
+		then:
+			1 * httpServerStub.registerParsedMappings(repository.getParsedStubs())
+			0 * httpServerStub.parseMapping(_)
+			0 * httpServerStub.isAccepted(_)
+			0 * httpServerStub.registerMappings(_)
+	}
+
+	def 'should keep the mappings parsed by the default HTTP server stub'() {
+		given:
+			StubRepository repository = new StubRepository(REPOSITORY_LOCATION,
+					[], new StubRunnerOptionsBuilder().build(), null)
+		when:
+			Map<File, Object> parsedStubs = repository.getParsedStubs()
+		then:
+			parsedStubs.keySet().toList() == repository.getStubs()
+			parsedStubs.values().every { it instanceof StubMapping }
+	}
+
 	def 'should throw an exception when no stubs or contracts are present'() {
 		when:
 			new StubRepository(new File('src/test/resources/emptyrepo'),
@@ -61,4 +111,70 @@ class StubRepositorySpec extends Specification {
 		then:
 			descriptors.size() == expectedDescriptorsSize
 	}
+
+	def 'should read the descriptors and contracts straight from a stub JAR'() {
+		given:
+			File jar = folder.newFile("stubs.jar")
+			packAsJar(REPOSITORY_LOCATION, jar)
+			StubRepository unpacked = new StubRepository(REPOSITORY_LOCATION,
+					[], new StubRunnerOptionsBuilder().build(), null)
+		when:
+			StubRepository repository = new StubRepository(jar,
+					[], new StubRunnerOptionsBuilder().build(), null)
+		then:
+			repository.getStubs().size() == unpacked.getStubs().findAll { isUnderMappings(it) }.size()
+			repository.getStubs().every { isUnderMappings(it) }
+			repository.getParsedStubs().values().every { it instanceof StubMapping }
+			repository.getContracts().size() == unpacked.getContracts().size()
+	}
+
+	def 'should extract files referenced by contracts from a stub JAR'() {
+		given:
+			File jar = folder.newFile("stubs.jar")
+			packAsJar(REPOSITORY_LOCATION, jar)
+			Set<File> registered = new HashSet<>(TemporaryFileStorage.files())
+		when:
+			StubRepository repository = new StubRepository(jar,
+					[], new StubRunnerOptionsBuilder().build(), null)
+		then:
+			Contract contract = repository.getContracts().find { it.label == "send_order_json" }
+			contract.outputMessage.body.clientValue.asString().contains("505c50a7-0c26-4582-b9ae-bc1c0f65fec1")
+		and: 'the extracted entries get deleted with the other temporary files'
+			(TemporaryFileStorage.files() - registered).any { it.isDirectory() }
+	}
+
+	def 'should unpack a stub JAR when custom HTTP server stubs are registered'() {
+		given:
+			File jar = folder.newFile("stubs.jar")
+			packAsJar(REPOSITORY_LOCATION, jar)
+			HttpServerStub httpServerStub = Stub(HttpServerStub) {
+				parseMapping(_ as File) >> { File file -> isUnderMappings(file) && file.name.endsWith(".json") ? file.name : null }
+			}
+		when:
+			StubRepository repository = new StubRepository(jar,
+					[httpServerStub], new StubRunnerOptionsBuilder().build(), null)
+		then:
+			!repository.getStubs().isEmpty()
+			repository.getStubs().every { it.isFile() }
+			!repository.getContracts().isEmpty()
+		and: 'the unpacked JAR gets deleted with the other temporary files'
+			TemporaryFileStorage.files().any { repository.getStubs().first().path.startsWith(it.path) }
+	}
+
+	private boolean isUnderMappings(File file) {
+		return file.path.contains(File.separator + "mappings" + File.separator)
+	}
+
+	private void packAsJar(File directory, File jar) {
+		new ZipOutputStream(new FileOutputStream(jar)).withCloseable { ZipOutputStream zip ->
+			directory.eachFileRecurse { File file ->
+				if (file.isFile()) {
+					zip.putNextEntry(new ZipEntry(directory.toPath().relativize(file.toPath()).toString()))
+					zip.write(file.bytes)
+					zip.closeEntry()
+				}
+			}
+		}
+	}
+
 }
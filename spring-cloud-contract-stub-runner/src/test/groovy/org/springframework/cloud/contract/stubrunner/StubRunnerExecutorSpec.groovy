@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.contract.stubrunner
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
 import java.util.concurrent.TimeUnit
 
 import groovy.json.JsonOutput
@@ -197,6 +199,55 @@ class StubRunnerExecutorSpec extends Specification {
 			executor.shutdown()
 	}
 
+	def 'should send the prepared messages of the given labels the given number of times'() {
+		given:
+			MockMessageVerifier messageVerifier = new MockMessageVerifier()
+			StubRunnerExecutor executor = new StubRunnerExecutor(portScanner, messageVerifier, [])
+			executor.runStubs(stubRunnerOptions, repository, stub)
+		when:
+			boolean triggered = executor.trigger(['send_order', 'missing'], 3)
+		then:
+			triggered
+			messageVerifier.count == 3
+			messageVerifier.contracts.unique(false) { System.identityHashCode(it) }.size() == 3
+		when:
+			triggered = executor.triggerAsync(['missing'], 3).get()
+		then:
+			!triggered
+			messageVerifier.count == 3
+		when:
+			List<Runnable> tasks = []
+			CompletableFuture<Boolean> future = executor.triggerAsync(['send_order'], 2, { tasks << it } as Executor)
+		then:
+			!future.done
+			messageVerifier.count == 3
+		when:
+			tasks.each { it.run() }
+		then:
+			future.get()
+			messageVerifier.count == 5
+		cleanup:
+			executor.shutdown()
+	}
+
+	def 'should reject triggering the labels a non positive number of times'() {
+		given:
+			StubRunnerExecutor executor = new StubRunnerExecutor(portScanner, new MockMessageVerifier(), [])
+			executor.runStubs(stubRunnerOptions, repository, stub)
+		when:
+			executor.trigger(['send_order'], times)
+		then:
+			thrown(IllegalArgumentException)
+		when:
+			executor.triggerAsync(['send_order'], times)
+		then:
+			thrown(IllegalArgumentException)
+		cleanup:
+			executor.shutdown()
+		where:
+			times << [0, -1]
+	}
+
 	def 'should generate regex values when message is to be set and it contains regex'() {
 		given:
 			MockMessageVerifier messageVerifier = new MockMessageVerifier()
@@ -218,6 +269,10 @@ class StubRunnerExecutorSpec extends Specification {
 
 		boolean called
 
+		int count
+
+		List<YamlContract> contracts = []
+
 		@Override
 		void send(Object message, String destination, YamlContract contract) {
 
@@ -236,6 +291,13 @@ class StubRunnerExecutorSpec extends Specification {
 		@Override
 		void send(Object payload, Map headers, String destination, YamlContract contract) {
 			this.called = true
+			this.count++
+			// senders might modify the contract
+			assert !contract.metadata.containsKey("sent")
+			assert !contract.outputMessage.headers.containsKey("sent")
+			contract.metadata.put("sent", true)
+			contract.outputMessage.headers.put("sent", true)
+			this.contracts << contract
 			println "Body <${payload}>"
 			assert !payload.toString().contains("cursor")
 			println "Headers <${headers}>"
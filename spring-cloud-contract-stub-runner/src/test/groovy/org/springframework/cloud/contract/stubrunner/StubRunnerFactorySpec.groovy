@@ -67,6 +67,23 @@ class StubRunnerFactorySpec extends Specification {
 			stubRunners.size() == 2
 	}
 
+	def "Should download stub definitions in parallel and keep the order of dependencies"() {
+		given:
+			folder.newFolder("mappings")
+			folder.newFile("hello.json").text = MAPPING
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withStubs("a:b,c:d,e:f,g:h")
+					.withParallelism(4).build()
+			downloader.downloadAndUnpackStubJar(_) >> { StubConfiguration configuration ->
+				return new AbstractMap.SimpleEntry(configuration, folder.root)
+			}
+			factory = new StubRunnerFactory(options, downloader, new NoOpStubMessages())
+		when:
+			Collection<StubRunner> stubRunners = factory.createStubsFromServiceConfiguration()
+		then:
+			stubRunners.collect { it.stubsConfiguration.artifactId } == ["b", "d", "f", "h"]
+	}
+
 	private List<StubRunner> collectOnlyPresentValues(Collection<StubRunner> stubRunners) {
 		return stubRunners.findAll { it != null }
 	}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner
+
+import java.nio.file.Files
+import java.nio.file.attribute.FileTime
+import java.nio.file.attribute.PosixFilePermission
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Requires
+import spock.lang.Specification
+
+class UnpackedStubsCacheSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def 'should unpack the jar only once'() {
+		given:
+			File jar = jar("foo.jar", "mappings/foo.json", "{}")
+			UnpackedStubsCache cache = new UnpackedStubsCache(folder.newFolder("cache").toPath(), Long.MAX_VALUE)
+		when:
+			File first = cache.unpacked(jar, "stubs")
+		then:
+			new File(first, "mappings/foo.json").text == "{}"
+		when:
+			File second = cache.unpacked(jar, "stubs")
+		then:
+			second == first
+			new File(second, "mappings/foo.json").text == "{}"
+			first.parentFile.parentFile.list().findAll { it.startsWith(".staging-") }.isEmpty()
+	}
+
+	@Requires({ !os.windows })
+	def 'should not allow modifying the shared cache entry'() {
+		given:
+			File jar = jar("foo.jar", "mappings/foo.json", "{}")
+			UnpackedStubsCache cache = new UnpackedStubsCache(folder.newFolder("cache").toPath(), Long.MAX_VALUE)
+		when:
+			File stubs = cache.unpacked(jar, "stubs")
+		then:
+			!Files.getPosixFilePermissions(new File(stubs, "mappings/foo.json").toPath())
+					.contains(PosixFilePermission.OWNER_WRITE)
+	}
+
+	def 'should replace an incomplete cache entry'() {
+		given:
+			File jar = jar("foo.jar", "mappings/foo.json", "{}")
+			UnpackedStubsCache cache = new UnpackedStubsCache(folder.newFolder("cache").toPath(), Long.MAX_VALUE)
+			File stubs = cache.unpacked(jar, "stubs")
+			stubs.deleteDir()
+		when:
+			File unpacked = cache.unpacked(jar, "stubs")
+		then:
+			unpacked == stubs
+			new File(unpacked, "mappings/foo.json").text == "{}"
+			unpacked.parentFile.parentFile.list().findAll { it.startsWith(".staging-") }.isEmpty()
+	}
+
+	def 'should delete the staging folder when unpacking fails'() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			File jar = jar("broken.jar", "../outside.json", "{}")
+			UnpackedStubsCache cache = new UnpackedStubsCache(cacheDir.toPath(), Long.MAX_VALUE)
+		when:
+			cache.unpacked(jar, "stubs")
+		then:
+			thrown(Exception)
+			cacheDir.list().findAll { it.startsWith(".staging-") }.isEmpty()
+	}
+
+	def 'should delete stale staging folders'() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			File stale = new File(cacheDir, ".staging-stale")
+			new File(stale, "stubs").mkdirs()
+			stale.setLastModified(0L)
+			File recent = new File(cacheDir, ".staging-recent")
+			recent.mkdirs()
+			UnpackedStubsCache cache = new UnpackedStubsCache(cacheDir.toPath(), Long.MAX_VALUE)
+		when:
+			cache.unpacked(jar("foo.jar", "mappings/foo.json", "{}"), "stubs")
+		then:
+			!stale.exists()
+			recent.exists()
+	}
+
+	def 'should use a separate entry per classifier'() {
+		given:
+			File jar = jar("foo.jar", "mappings/foo.json", "{}")
+			UnpackedStubsCache cache = new UnpackedStubsCache(folder.newFolder("cache").toPath(), Long.MAX_VALUE)
+		expect:
+			cache.unpacked(jar, "stubs") != cache.unpacked(jar, "other")
+	}
+
+	def 'should evict least recently used entries when max size is exceeded'() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			UnpackedStubsCache cache = new UnpackedStubsCache(cacheDir.toPath(), 5)
+			File oldEntry = cache.unpacked(jar("old.jar", "old.json", "old"), "stubs").parentFile
+			Files.setLastModifiedTime(new File(oldEntry, "last-access").toPath(), FileTime.fromMillis(0L))
+		when:
+			File newEntry = cache.unpacked(jar("new.jar", "new.json", "new"), "stubs").parentFile
+		then:
+			!oldEntry.exists()
+			newEntry.exists()
+	}
+
+	def 'should not be enabled by default'() {
+		expect:
+			UnpackedStubsCache.fromOptions(new StubRunnerOptionsBuilder().build()) == null
+	}
+
+	def 'should not be enabled when stubs are generated at runtime'() {
+		given:
+			StubRunnerOptions options = new StubRunnerOptionsBuilder()
+					.withProperties([(UnpackedStubsCache.CACHE_DIRECTORY_PROPERTY): folder.root.absolutePath])
+					.withGenerateStubs(true).build()
+		expect:
+			UnpackedStubsCache.fromOptions(options) == null
+	}
+
+	private File jar(String name, String entryName, String content) {
+		File jar = folder.newFile(name)
+		new ZipOutputStream(new FileOutputStream(jar)).withCloseable { ZipOutputStream zip ->
+			zip.putNextEntry(new ZipEntry(entryName))
+			zip.write(content.bytes)
+			zip.closeEntry()
+		}
+		return jar
+	}
+
+}
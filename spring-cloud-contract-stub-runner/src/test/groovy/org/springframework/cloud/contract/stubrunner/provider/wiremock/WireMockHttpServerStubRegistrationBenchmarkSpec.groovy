@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.stubrunner.provider.wiremock
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfiguration
+import org.springframework.cloud.contract.stubrunner.HttpServerStubConfigurer
+import org.springframework.cloud.test.TestSocketUtils
+
+/**
+ * Logs the startup time of registering mappings in-process and of registering them
+ * through the WireMock HTTP admin API. The timings are only logged, so that noisy
+ * machines don't fail the build. Run with {@code -Dbenchmark=true}.
+ */
+@Requires({ System.getProperty("benchmark") })
+class WireMockHttpServerStubRegistrationBenchmarkSpec extends Specification {
+
+	private static final Logger log = LoggerFactory.getLogger(WireMockHttpServerStubRegistrationBenchmarkSpec)
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	@Unroll
+	def 'should register [#count] mappings in-process and via the admin API'() {
+		given:
+			List<File> mappings = mappings(count)
+			WireMockHttpServerStub inProcess = startedStub()
+			WireMockHttpServerStub adminApi = startedStub()
+		when:
+			long inProcessNanos = measure { inProcess.registerMappings(mappings) }
+			long adminApiNanos = measure {
+				WireMock wireMock = new WireMock("localhost", adminApi.port())
+				mappings.each { wireMock.register(adminApi.getMapping(it)) }
+			}
+		then:
+			log.info("[{}] mappings: in-process [{}] ms, admin API [{}] ms", count, inProcessNanos / 1_000_000,
+					adminApiNanos / 1_000_000)
+			Set<String> urls = (0..<count).collect { "/resource/${it}".toString() } as Set
+			inProcess.wireMockServer.stubMappings.size() == count + 2
+			inProcess.wireMockServer.stubMappings*.request*.url.containsAll(urls)
+			adminApi.wireMockServer.stubMappings.size() == count
+			adminApi.wireMockServer.stubMappings*.request*.url as Set == urls
+		cleanup:
+			inProcess?.stop()
+			adminApi?.stop()
+		where:
+			count << [1_000, 10_000]
+	}
+
+	private WireMockHttpServerStub startedStub() {
+		return new WireMockHttpServerStub().start(new HttpServerStubConfiguration(
+				HttpServerStubConfigurer.NoOpHttpServerStubConfigurer.INSTANCE, null, null,
+				TestSocketUtils.findAvailableTcpPort())) as WireMockHttpServerStub
+	}
+
+	private List<File> mappings(int count) {
+		File root = folder.newFolder("mappings-${count}")
+		return (0..<count).collect { int i ->
+			File file = new File(root, "mapping_${i}.json")
+			file.text = """{
+  "request": { "method": "GET", "url": "/resource/${i}" },
+  "response": { "status": 200, "body": "${i}" }
+}"""
+			return file
+		}
+	}
+
+	private long measure(Closure closure) {
+		long start = System.nanoTime()
+		closure()
+		return System.nanoTime() - start
+	}
+
+}
@@ -22,14 +22,18 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,7 +42,9 @@ import org.springframework.cloud.contract.spec.Contract;
 import org.springframework.cloud.contract.verifier.file.ContractFileScanner;
 import org.springframework.cloud.contract.verifier.file.ContractMetadata;
 import org.springframework.cloud.contract.verifier.util.NamesUtil;
+import org.springframework.cloud.contract.verifier.util.ParallelUtils;
 import org.springframework.cloud.contract.verifier.wiremock.DslToWireMockClientConverter;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
@@ -51,6 +57,9 @@ public class RecursiveFilesConverter {
 
 	private static final Log log = LogFactory.getLog(RecursiveFilesConverter.class);
 
+	private static final Pattern BUILD_FOLDER = Pattern
+		.compile("^.*" + Pattern.quote(File.separator) + "(target|build)" + Pattern.quote(File.separator) + ".*$");
+
 	private final StubGeneratorProvider holder;
 
 	private final File outMappingsDir;
@@ -63,14 +72,34 @@ public class RecursiveFilesConverter {
 
 	private final boolean excludeBuildFolders;
 
+	private final File contractsCacheDir;
+
+	private final int parallelism;
+
+	private final File compiledContractsCacheDir;
+
+	private final MultiValueMap<Path, Path> generatedStubs = new LinkedMultiValueMap<>();
+
 	public RecursiveFilesConverter(File stubsOutputDir, File contractsDslDir, List<String> excludedFiles,
 			String includedContracts, boolean excludeBuildFolders, StubGeneratorProvider holder) {
-		this.outMappingsDir = stubsOutputDir;
-		this.contractsDslDir = contractsDslDir;
-		this.excludedFiles = excludedFiles;
-		this.includedContracts = includedContracts;
-		this.excludeBuildFolders = excludeBuildFolders;
-		this.holder = holder == null ? new StubGeneratorProvider() : holder;
+		this(builder().stubsOutputDir(stubsOutputDir)
+			.contractsDslDir(contractsDslDir)
+			.excludedFiles(excludedFiles)
+			.includedContracts(includedContracts)
+			.excludeBuildFolders(excludeBuildFolders)
+			.holder(holder));
+	}
+
+	private RecursiveFilesConverter(Builder builder) {
+		this.outMappingsDir = builder.stubsOutputDir;
+		this.contractsDslDir = builder.contractsDslDir;
+		this.excludedFiles = builder.excludedFiles;
+		this.includedContracts = builder.includedContracts;
+		this.excludeBuildFolders = builder.excludeBuildFolders;
+		this.holder = builder.holder == null ? new StubGeneratorProvider() : builder.holder;
+		this.contractsCacheDir = builder.contractsCacheDir;
+		this.parallelism = Math.max(1, builder.parallelism);
+		this.compiledContractsCacheDir = builder.compiledContractsCacheDir;
 	}
 
 	public RecursiveFilesConverter(File stubsOutputDir, File contractsDslDir, List<String> excludedFiles,
@@ -79,79 +108,145 @@ public class RecursiveFilesConverter {
 	}
 
 	public void processFiles() {
+		processFiles(null);
+	}
+
+	/**
+	 * Converts only the contracts of the given directories.
+	 * @param contractDirectories directories of contracts that should be converted,
+	 * {@code null} for all of them
+	 * @since 5.0.0
+	 */
+	public void processFiles(Predicate<Path> contractDirectories) {
 		ContractFileScanner scanner = ContractFileScanner.builder()
 			.baseDir(contractsDslDir)
 			.excluded(new HashSet<>(excludedFiles))
 			.ignored(new HashSet<>())
 			.included(new HashSet<>())
 			.includeMatcher(includedContracts)
+			.parallelism(parallelism)
+			.directories(contractDirectories)
+			.cacheDirectory(contractsCacheDir)
+			.compiledContractsCacheDir(compiledContractsCacheDir)
 			.build();
 		MultiValueMap<Path, ContractMetadata> contracts = scanner.findContractsRecursively();
 		if (log.isDebugEnabled()) {
 			log.debug("Found the following contracts " + contracts);
 		}
+		Collection<StubGenerator> stubGenerators = holder.allOrDefault(new DslToWireMockClientConverter());
+		List<Map.Entry<Path, ContractMetadata>> toConvert = new ArrayList<>();
 		for (Map.Entry<Path, List<ContractMetadata>> entry : contracts.entrySet()) {
 			for (ContractMetadata contract : entry.getValue()) {
-				if (log.isDebugEnabled()) {
-					log.debug("Will create a stub for contract [" + contract + "]");
-				}
-				File sourceFile = contract.getPath().toFile();
-				Collection<StubGenerator> stubGenerators = holder.allOrDefault(new DslToWireMockClientConverter());
-				try {
-					String path = sourceFile.getPath();
-					if (excludeBuildFolders && (matchesPath(path, "target") || matchesPath(path, "build"))) {
-						if (log.isDebugEnabled()) {
-							log.debug("Exclude build folder is set. Path [" + path
-									+ "] contains [target] or [build] in its path");
-						}
-
-						continue;
-					}
-					if (nullOrEmpty(contract) && nullOrEmpty(stubGenerators)) {
-						continue;
-					}
-					int contractsSize = contract.getConvertedContract().size();
-					Path entryKey = entry.getKey();
+				String path = contract.getPath().toFile().getPath();
+				if (excludeBuildFolders && BUILD_FOLDER.matcher(path).matches()) {
 					if (log.isDebugEnabled()) {
-						log.debug(
-								"Stub Generators [" + stubGenerators + "] will convert contents of [" + entryKey + "]");
-					}
-
-					for (StubGenerator stubGenerator : stubGenerators) {
-						Map<Contract, String> convertedContent = stubGenerator
-							.convertContents(last(entryKey).toString(), contract);
-						if (convertedContent == null || convertedContent.isEmpty()) {
-							continue;
-						}
-						Set<Map.Entry<Contract, String>> entrySet = convertedContent.entrySet();
-						Iterator<Map.Entry<Contract, String>> iterator = entrySet.iterator();
-						int index = 0;
-						while (iterator.hasNext()) {
-							Map.Entry<Contract, String> content = iterator.next();
-							Contract dsl = content.getKey();
-							String converted = content.getValue();
-							if (StringUtils.hasText(converted)) {
-								Path absoluteTargetPath = createAndReturnTargetDirectory(sourceFile);
-								File newJsonFile = createTargetFileWithProperName(stubGenerator, absoluteTargetPath,
-										sourceFile, contractsSize, index, dsl);
-								Files.write(newJsonFile.toPath(), Collections.singletonList(converted),
-										StandardCharsets.UTF_8);
-							}
-							index = index + 1;
-						}
-
+						log.debug("Exclude build folder is set. Path [" + path
+								+ "] contains [target] or [build] in its path");
 					}
+					continue;
+				}
+				if (nullOrEmpty(contract) && nullOrEmpty(stubGenerators)) {
+					continue;
+				}
+				toConvert.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), contract));
+			}
+		}
+		if (this.parallelism > 1 && toConvert.size() > 1 && log.isDebugEnabled()) {
+			log.debug("Will convert [" + toConvert.size() + "] contracts with parallelism [" + this.parallelism + "]");
+		}
+		// stubs are converted and written in parallel. When contracts generate the same
+		// output file, the stub of the last contract wins as with a sequential conversion
+		Map<Path, WrittenStub> written = new ConcurrentHashMap<>();
+		List<Integer> indexes = IntStream.range(0, toConvert.size()).boxed().toList();
+		List<List<Path>> paths = ParallelUtils.map(indexes, this.parallelism, index -> {
+			Map.Entry<Path, ContractMetadata> entry = toConvert.get(index);
+			return convert(entry.getKey(), entry.getValue(), stubGenerators).stream()
+				.map(stub -> write(written, index, stub))
+				.toList();
+		});
+		for (int i = 0; i < toConvert.size(); i++) {
+			generatedStubs.addAll(toConvert.get(i).getKey(), paths.get(i));
+		}
+	}
 
+	private List<Stub> convert(Path entryKey, ContractMetadata contract, Collection<StubGenerator> stubGenerators) {
+		if (log.isDebugEnabled()) {
+			log.debug("Will create a stub for contract [" + contract + "]");
+		}
+		File sourceFile = contract.getPath().toFile();
+		List<Stub> stubs = new ArrayList<>();
+		try {
+			int contractsSize = contract.getConvertedContract().size();
+			if (log.isDebugEnabled()) {
+				log.debug("Stub Generators [" + stubGenerators + "] will convert contents of [" + entryKey + "]");
+			}
+			String rootName = last(entryKey).toString();
+			Path absoluteTargetPath = targetDirectory(sourceFile);
+			for (StubGenerator stubGenerator : stubGenerators) {
+				Map<Contract, String> convertedContent = stubGenerator.convertContents(rootName, contract);
+				if (convertedContent == null || convertedContent.isEmpty()) {
+					continue;
 				}
-				catch (Exception e) {
-					throw new ConversionContractVerifierException(
-							"Unable to make conversion of " + sourceFile.getName(), e);
+				int index = 0;
+				for (Map.Entry<Contract, String> content : convertedContent.entrySet()) {
+					Contract dsl = content.getKey();
+					String converted = content.getValue();
+					if (StringUtils.hasText(converted)) {
+						File newJsonFile = createTargetFileWithProperName(stubGenerator, absoluteTargetPath,
+								sourceFile, contractsSize, index, dsl);
+						stubs.add(new Stub(sourceFile, newJsonFile.toPath(), converted));
+					}
+					index = index + 1;
 				}
+			}
+		}
+		catch (Exception e) {
+			throw new ConversionContractVerifierException("Unable to make conversion of " + sourceFile.getName(), e);
+		}
+		return stubs;
+	}
 
+	private Path write(Map<Path, WrittenStub> written, int index, Stub stub) {
+		// the same output file is written by one thread at a time
+		written.compute(stub.path(), (path, previous) -> {
+			if (previous != null && previous.index() > index) {
+				warnOverride(path, previous.source(), stub.source());
+				return previous;
 			}
+			if (previous != null) {
+				warnOverride(path, stub.source(), previous.source());
+			}
+			write(stub);
+			return new WrittenStub(index, stub.source());
+		});
+		return stub.path();
+	}
+
+	private void warnOverride(Path path, File source, File overridden) {
+		if (log.isWarnEnabled()) {
+			log.warn("Stub [" + path + "] of contract [" + source + "] overrides the one generated from contract ["
+					+ overridden + "]");
+		}
+	}
 
+	private void write(Stub stub) {
+		log.info("Creating new stub [" + stub.path() + "]");
+		try {
+			Files.createDirectories(stub.path().getParent());
+			Files.writeString(stub.path(), stub.content() + System.lineSeparator(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new ConversionContractVerifierException("Unable to make conversion of " + stub.source().getName(),
+					e);
 		}
+	}
 
+	/**
+	 * @return generated stubs per directory of contracts
+	 * @since 5.0.0
+	 */
+	public MultiValueMap<Path, Path> getGeneratedStubs() {
+		return this.generatedStubs;
 	}
 
 	private static <T> T last(Iterable<T> self) {
@@ -174,28 +269,15 @@ public class RecursiveFilesConverter {
 		return collection == null || collection.isEmpty();
 	}
 
-	private boolean matchesPath(String path, String folder) {
-		return path.matches("^.*" + File.separator + folder + File.separator + ".*$");
-	}
-
-	private Path createAndReturnTargetDirectory(File sourceFile) {
+	private Path targetDirectory(File sourceFile) {
 		Path relativePath = Paths.get(contractsDslDir.toURI()).relativize(sourceFile.getParentFile().toPath());
-		Path absoluteTargetPath = outMappingsDir.toPath().resolve(relativePath);
-		try {
-			Files.createDirectories(absoluteTargetPath);
-		}
-		catch (IOException ex) {
-			throw new IllegalStateException(ex);
-		}
-		return absoluteTargetPath;
+		return outMappingsDir.toPath().resolve(relativePath);
 	}
 
 	private File createTargetFileWithProperName(StubGenerator stubGenerator, Path absoluteTargetPath, File sourceFile,
 			int contractsSize, int index, Contract dsl) {
 		String name = generateName(dsl, contractsSize, stubGenerator, sourceFile, index);
-		File newJsonFile = new File(absoluteTargetPath.toFile(), name);
-		log.info("Creating new stub [" + newJsonFile.getPath() + "]");
-		return newJsonFile;
+		return new File(absoluteTargetPath.toFile(), name);
 	}
 
 	private String generateName(Contract dsl, int contractsSize, StubGenerator converter, File sourceFile, int index) {
@@ -211,4 +293,116 @@ public class RecursiveFilesConverter {
 		return index + "_" + generatedName;
 	}
 
+	/**
+	 * Stub converted from a contract, not yet written to disk.
+	 */
+	private record Stub(File source, Path path, String content) {
+	}
+
+	/**
+	 * Stub written to disk, with the index of its contract.
+	 */
+	private record WrittenStub(int index, File source) {
+	}
+
+	/**
+	 * @return builder of a converter
+	 * @since 5.0.0
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder of a {@link RecursiveFilesConverter}.
+	 *
+	 * @since 5.0.0
+	 */
+	public static class Builder {
+
+		private File stubsOutputDir;
+
+		private File contractsDslDir;
+
+		private List<String> excludedFiles = new ArrayList<>();
+
+		private String includedContracts = ".*";
+
+		private boolean excludeBuildFolders;
+
+		private StubGeneratorProvider holder;
+
+		private File contractsCacheDir;
+
+		private int parallelism = 1;
+
+		private File compiledContractsCacheDir;
+
+		public Builder stubsOutputDir(File stubsOutputDir) {
+			this.stubsOutputDir = stubsOutputDir;
+			return this;
+		}
+
+		public Builder contractsDslDir(File contractsDslDir) {
+			this.contractsDslDir = contractsDslDir;
+			return this;
+		}
+
+		public Builder excludedFiles(List<String> excludedFiles) {
+			this.excludedFiles = excludedFiles;
+			return this;
+		}
+
+		public Builder includedContracts(String includedContracts) {
+			this.includedContracts = includedContracts;
+			return this;
+		}
+
+		public Builder excludeBuildFolders(boolean excludeBuildFolders) {
+			this.excludeBuildFolders = excludeBuildFolders;
+			return this;
+		}
+
+		public Builder holder(StubGeneratorProvider holder) {
+			this.holder = holder;
+			return this;
+		}
+
+		/**
+		 * @param contractsCacheDir directory where evaluated DSL contracts are stored for
+		 * reuse, {@code null} to evaluate them each time
+		 * @return builder
+		 */
+		public Builder contractsCacheDir(File contractsCacheDir) {
+			this.contractsCacheDir = contractsCacheDir;
+			return this;
+		}
+
+		/**
+		 * @param parallelism max number of contract files converted to stubs at the same
+		 * time. The stub generators have to be thread safe when it's greater than
+		 * {@code 1}
+		 * @return builder
+		 */
+		public Builder parallelism(int parallelism) {
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * @param compiledContractsCacheDir directory where compiled Groovy contracts are
+		 * stored for reuse, {@code null} to compile them each time
+		 * @return builder
+		 */
+		public Builder compiledContractsCacheDir(File compiledContractsCacheDir) {
+			this.compiledContractsCacheDir = compiledContractsCacheDir;
+			return this;
+		}
+
+		public RecursiveFilesConverter build() {
+			return new RecursiveFilesConverter(this);
+		}
+
+	}
+
 }
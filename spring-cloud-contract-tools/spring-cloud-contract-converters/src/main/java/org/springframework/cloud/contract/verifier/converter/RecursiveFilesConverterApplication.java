@@ -28,7 +28,9 @@ public final class RecursiveFilesConverterApplication {
 	}
 
 	public static void main(String[] args) {
-		if (args.length != 5) {
+		// the directory of cached contracts (blank when not set), the parallelism and the
+		// directory of compiled contracts (blank when not set) are optional
+		if (args.length < 5 || args.length > 8) {
 			throw new RuntimeException("Invalid number of arguments");
 		}
 
@@ -37,9 +39,20 @@ public final class RecursiveFilesConverterApplication {
 		List<String> excludedFiles = Arrays.asList(StringUtils.commaDelimitedListToStringArray(args[2]));
 		String includedContracts = args[3];
 		boolean excludeBuildFolders = Boolean.parseBoolean(args[4]);
-
-		RecursiveFilesConverter converter = new RecursiveFilesConverter(stubsOutputDir, contractsDslDir, excludedFiles,
-				includedContracts, excludeBuildFolders);
+		File contractsCacheDir = args.length > 5 && StringUtils.hasText(args[5]) ? new File(args[5]) : null;
+		int parallelism = args.length > 6 ? Integer.parseInt(args[6]) : 1;
+		File compiledContractsCacheDir = args.length > 7 && StringUtils.hasText(args[7]) ? new File(args[7]) : null;
+
+		RecursiveFilesConverter converter = RecursiveFilesConverter.builder()
+			.stubsOutputDir(stubsOutputDir)
+			.contractsDslDir(contractsDslDir)
+			.excludedFiles(excludedFiles)
+			.includedContracts(includedContracts)
+			.excludeBuildFolders(excludeBuildFolders)
+			.contractsCacheDir(contractsCacheDir)
+			.parallelism(parallelism)
+			.compiledContractsCacheDir(compiledContractsCacheDir)
+			.build();
 		converter.processFiles();
 	}
 
@@ -92,6 +92,99 @@ class RecursiveFilesConverterSpec extends Specification {
 			createdFiles.each { assert it.text.contains("uuid") }
 	}
 
+	def "should recursively convert all matching files in parallel"() {
+		given:
+			File originalSourceRootDirectory = new File(this.getClass()
+															.getResource("/converter/source").toURI())
+			File contractsDslDir = tmpFolder.newFolder("source")
+			File stubsOutputDir = tmpFolder.newFolder("target")
+			FileSystemUtils
+					.copyRecursively(originalSourceRootDirectory, contractsDslDir)
+		and:
+			RecursiveFilesConverter recursiveFilesConverter = converter(stubsOutputDir, contractsDslDir).parallelism(4).build()
+		when:
+			recursiveFilesConverter.processFiles()
+		then:
+			Collection<File> createdFiles = [] as List
+			stubsOutputDir.
+					eachFileRecurse(FileType.FILES) { createdFiles << it }
+			Set<String> relativizedCreatedFiles =
+					getRelativePathsForFilesInDirectory(createdFiles, stubsOutputDir)
+			relativizedCreatedFiles == EXPECTED_TARGET_FILES
+		and:
+			recursiveFilesConverter.generatedStubs.values().flatten().size() == EXPECTED_TARGET_FILES.size()
+	}
+
+	def "should write stubs with the same name in the order of the contracts when converting in parallel"() {
+		given:
+			File contractsDslDir = tmpFolder.newFolder("duplicates")
+			(1..5).each { int index ->
+				new File(contractsDslDir, "contract${index}.groovy").text = """
+					org.springframework.cloud.contract.spec.Contract.make {
+						name "foo"
+						request {
+							method "GET"
+							url "/foo/${index}"
+						}
+						response {
+							status 200
+						}
+					}
+				"""
+			}
+		and:
+			File sequentialOutputDir = tmpFolder.newFolder("sequential")
+			File parallelOutputDir = tmpFolder.newFolder("parallel")
+		when:
+			converter(sequentialOutputDir, contractsDslDir).parallelism(1).build().processFiles()
+			converter(parallelOutputDir, contractsDslDir).parallelism(4).build().processFiles()
+		then:
+			File sequentialStub = new File(sequentialOutputDir, "foo.json")
+			File parallelStub = new File(parallelOutputDir, "foo.json")
+			sequentialStub.exists()
+			parallelStub.text == sequentialStub.text
+			parallelStub.text.contains("/foo/5")
+	}
+
+	def "should generate the same stubs from cached contracts as from evaluated ones"() {
+		given:
+			File originalSourceRootDirectory = new File(this.getClass()
+															.getResource("/converter/source").toURI())
+			File contractsDslDir = tmpFolder.newFolder("source")
+			FileSystemUtils
+					.copyRecursively(originalSourceRootDirectory, contractsDslDir)
+			FileSystemUtils.copyRecursively(new File(this.getClass().getResource("/converter/dynamic").toURI()),
+					new File(contractsDslDir, "dynamic"))
+			File cacheDir = tmpFolder.newFolder("cache")
+		when:
+			Map<String, String> evaluated = convert(contractsDslDir, null, "evaluated")
+			Map<String, String> cached = convert(contractsDslDir, cacheDir, "cached")
+			Map<String, String> readFromCache = convert(contractsDslDir, cacheDir, "read-from-cache")
+		then:
+			evaluated.keySet().collect { Paths.get(it) } as Set ==
+					EXPECTED_TARGET_FILES + [Paths.get("dynamic/dynamicValues.json")] as Set
+			cached == evaluated
+			readFromCache == evaluated
+	}
+
+	private RecursiveFilesConverter.Builder converter(File stubsOutputDir, File contractsDslDir) {
+		return RecursiveFilesConverter.builder()
+				.stubsOutputDir(stubsOutputDir)
+				.contractsDslDir(contractsDslDir)
+	}
+
+	private Map<String, String> convert(File contractsDslDir, File cacheDir, String name) {
+		File stubsOutputDir = tmpFolder.newFolder(name)
+		converter(stubsOutputDir, contractsDslDir).contractsCacheDir(cacheDir).build().processFiles()
+		Map<String, String> stubs = new TreeMap<>()
+		stubsOutputDir.eachFileRecurse(FileType.FILES) {
+			// ids of the stubs are random
+			String stub = it.readLines().findAll { !(it =~ /^\s*"(id|uuid)"\s*:/) }.join("\n")
+			stubs.put(stubsOutputDir.toPath().relativize(it.toPath()).toString(), stub)
+		}
+		return stubs
+	}
+
 	def "should recursively convert matching files with exlusions"() {
 		given:
 			File originalSourceRootDirectory = new File(this.getClass()
@@ -148,6 +148,27 @@ public class ContractVerifierExtension implements Serializable {
 	 */
 	private final Property<Boolean> failOnInProgress;
 
+	/**
+	 * Dir where contracts evaluated from DSL files (e.g. Groovy) are stored as YAML, so
+	 * that the tasks generating tests and stubs don't both evaluate them. Not set by
+	 * default, which means that the contracts are evaluated by each task.
+	 */
+	private final DirectoryProperty contractsCacheDir;
+
+	/**
+	 * Dir where the bytecode of compiled Groovy contracts is stored, so that subsequent
+	 * builds don't compile the unchanged contracts again. Not set by default, which means
+	 * that the contracts are compiled in each build.
+	 */
+	private final DirectoryProperty compiledContractsCacheDir;
+
+	/**
+	 * Max number of contract directories for which tests are generated and max number of
+	 * contract files converted to stubs at the same time. Custom stub generators have to
+	 * be thread safe when it's greater than 1.
+	 */
+	private final Property<Integer> parallelism;
+
 	private final ContractRepository contractRepository;
 
 	private final PublishStubsToScm publishStubsToScm;
@@ -246,6 +267,9 @@ public class ContractVerifierExtension implements Serializable {
 		this.assertJsonSize = objects.property(Boolean.class).convention(false);
 		this.failOnNoContracts = objects.property(Boolean.class).convention(true);
 		this.failOnInProgress = objects.property(Boolean.class).convention(true);
+		this.contractsCacheDir = objects.directoryProperty();
+		this.compiledContractsCacheDir = objects.directoryProperty();
+		this.parallelism = objects.property(Integer.class).convention(1);
 		this.contractRepository = objects.newInstance(ContractRepository.class);
 		this.publishStubsToScm = objects.newInstance(PublishStubsToScm.class);
 		this.contractDependency = objects.newInstance(Dependency.class);
@@ -429,6 +453,30 @@ public class ContractVerifierExtension implements Serializable {
 		this.failOnInProgress.set(failOnInProgress);
 	}
 
+	public DirectoryProperty getContractsCacheDir() {
+		return contractsCacheDir;
+	}
+
+	public void setContractsCacheDir(File contractsCacheDir) {
+		this.contractsCacheDir.set(contractsCacheDir);
+	}
+
+	public DirectoryProperty getCompiledContractsCacheDir() {
+		return compiledContractsCacheDir;
+	}
+
+	public void setCompiledContractsCacheDir(File compiledContractsCacheDir) {
+		this.compiledContractsCacheDir.set(compiledContractsCacheDir);
+	}
+
+	public Property<Integer> getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism.set(parallelism);
+	}
+
 	public ContractRepository getContractRepository() {
 		return contractRepository;
 	}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+/**
+ * Runs the main class of one of the Spring Cloud Contract applications (e.g. the test
+ * generator) in a Gradle worker daemon. The daemons are kept alive by Gradle, so
+ * subsequent tasks and builds don't pay for a JVM startup.
+ * <p>
+ * The class loader of the application is kept per classpath, so the loaded classes and
+ * the caches of the application (e.g. the class loaders of the contracts or compiled
+ * scripts) stay warm between executions. The caches verify their own inputs. The class
+ * loader gets replaced once any entry of the classpath changes. Every execution runs on
+ * a new thread, so thread locals of the application don't outlive it. Like with
+ * {@code javaexec}, the output of the application is discarded unless debug logging is
+ * enabled. The error output is printed when the application fails.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+abstract class ContractsApplicationWorkAction implements WorkAction<ContractsApplicationWorkAction.Parameters> {
+
+	private static final int MAX_CACHED_CLASSPATHS = 8;
+
+	/**
+	 * Class loaders of the applications per classpath.
+	 */
+	private static final Map<List<File>, ApplicationClassLoader> CLASS_LOADERS = new LinkedHashMap<>(
+			MAX_CACHED_CLASSPATHS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<File>, ApplicationClassLoader> eldest) {
+			if (size() > MAX_CACHED_CLASSPATHS) {
+				eldest.getValue().close();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Submits the main class to a worker daemon and waits for it to finish.
+	 * @param workers worker executor
+	 * @param logger logger of the task, the output is shown when debug is enabled
+	 * @param classpath classpath of the application
+	 * @param mainClass main class of the application
+	 * @param arguments arguments passed to the main method
+	 */
+	static void run(WorkerExecutor workers, Logger logger, FileCollection classpath, String mainClass,
+			String... arguments) {
+		// redirecting the output of the application must not affect the Gradle daemon
+		WorkQueue queue = workers.processIsolation();
+		queue.submit(ContractsApplicationWorkAction.class, parameters -> {
+			parameters.getClasspath().from(classpath);
+			parameters.getMainClass().set(mainClass);
+			parameters.getArguments().addAll(arguments);
+			parameters.getQuiet().set(!logger.isDebugEnabled());
+		});
+		queue.await();
+	}
+
+	@Override
+	public void execute() {
+		Parameters parameters = getParameters();
+		runMain(parameters.getClasspath().getFiles(), parameters.getMainClass().get(),
+				parameters.getArguments().get().toArray(new String[0]), parameters.getQuiet().get());
+	}
+
+	static void runMain(Iterable<File> classpath, String mainClass, String[] arguments, boolean quiet) {
+		PrintStream out = System.out;
+		PrintStream err = System.err;
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		if (quiet) {
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+			System.setErr(new PrintStream(errors, true));
+		}
+		boolean failed = true;
+		try {
+			runMain(classLoader(classpath), mainClass, arguments);
+			failed = false;
+		}
+		finally {
+			System.setOut(out);
+			System.setErr(err);
+			if (quiet && failed) {
+				err.print(errors);
+			}
+		}
+	}
+
+	private static void runMain(ClassLoader classLoader, String mainClass, String[] arguments) {
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		// thread locals of the application go away together with the thread
+		Thread thread = new Thread(() -> {
+			try {
+				Method main = Class.forName(mainClass, true, classLoader).getMethod("main", String[].class);
+				main.invoke(null, (Object) arguments);
+			}
+			catch (InvocationTargetException ex) {
+				failure.set(ex.getCause());
+			}
+			catch (ReflectiveOperationException ex) {
+				failure.set(new GradleException("Failed to run [" + mainClass + "]", ex));
+			}
+			catch (Throwable ex) {
+				failure.set(ex);
+			}
+		}, mainClass);
+		thread.setContextClassLoader(classLoader);
+		thread.start();
+		try {
+			thread.join();
+		}
+		catch (InterruptedException ex) {
+			thread.interrupt();
+			Thread.currentThread().interrupt();
+			throw new GradleException("Interrupted while running [" + mainClass + "]", ex);
+		}
+		Throwable throwable = failure.get();
+		if (throwable instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		if (throwable != null) {
+			throw new GradleException("Exception occurred while running [" + mainClass + "]", throwable);
+		}
+	}
+
+	private static ClassLoader classLoader(Iterable<File> classpath) {
+		List<File> files = new ArrayList<>();
+		classpath.forEach(files::add);
+		List<String> stamps = stamps(files);
+		synchronized (CLASS_LOADERS) {
+			ApplicationClassLoader classLoader = CLASS_LOADERS.get(files);
+			if (classLoader == null || !classLoader.stamps().equals(stamps)) {
+				if (classLoader != null) {
+					classLoader.close();
+				}
+				classLoader = new ApplicationClassLoader(stamps,
+						new URLClassLoader(urls(files), ClassLoader.getPlatformClassLoader()));
+				CLASS_LOADERS.put(files, classLoader);
+			}
+			return classLoader.classLoader();
+		}
+	}
+
+	private static List<String> stamps(List<File> files) {
+		List<String> stamps = new ArrayList<>();
+		for (File file : files) {
+			stamps.add(file.length() + ":" + file.lastModified());
+		}
+		return stamps;
+	}
+
+	private static URL[] urls(List<File> classpath) {
+		List<URL> urls = new ArrayList<>();
+		for (File file : classpath) {
+			try {
+				urls.add(file.toURI().toURL());
+			}
+			catch (MalformedURLException ex) {
+				throw new GradleException("Invalid classpath entry [" + file + "]", ex);
+			}
+		}
+		return urls.toArray(new URL[0]);
+	}
+
+	/**
+	 * Class loader of an application together with the size and last modification
+	 * time of each entry of its classpath.
+	 */
+	private record ApplicationClassLoader(List<String> stamps, URLClassLoader classLoader) {
+
+		private void close() {
+			try {
+				this.classLoader.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+	}
+
+	interface Parameters extends WorkParameters {
+
+		ConfigurableFileCollection getClasspath();
+
+		Property<String> getMainClass();
+
+		ListProperty<String> getArguments();
+
+		Property<Boolean> getQuiet();
+
+	}
+
+}
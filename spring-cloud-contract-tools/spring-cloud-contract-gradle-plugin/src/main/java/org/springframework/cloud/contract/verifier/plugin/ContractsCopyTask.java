@@ -16,9 +16,7 @@
 
 package org.springframework.cloud.contract.verifier.plugin;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.OutputStream;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Map;
@@ -29,7 +27,6 @@ import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
-import org.eclipse.jgit.util.io.NullOutputStream;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
@@ -51,7 +48,7 @@ import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkerExecutor;
 import org.springframework.cloud.contract.stubrunner.ContractDownloader;
 import org.springframework.cloud.contract.stubrunner.ScmStubDownloaderBuilder;
 import org.springframework.cloud.contract.stubrunner.StubConfiguration;
@@ -121,17 +118,17 @@ class ContractsCopyTask extends DefaultTask {
 	private final Property<String> projectName;
 	private final Property<String> projectVersion;
 
-	private final ExecOperations executors;
+	private final WorkerExecutor workers;
 	private final FileSystemOperations files;
 
 	@Inject
 	public ContractsCopyTask(
 			final ObjectFactory objects,
 			final ProviderFactory providers,
-			final ExecOperations executors,
+			final WorkerExecutor workers,
 			final FileSystemOperations files
 	) {
-		this.executors = executors;
+		this.workers = workers;
 		this.files = files;
 
 		convertToYaml = objects.property(Boolean.class);
@@ -201,26 +198,12 @@ class ContractsCopyTask extends DefaultTask {
 	private void convertContractsToYaml(File file, String antPattern, String slashSeparatedAntPattern,
 			File outputContractsFolder, boolean excludeBuildFolders) {
 		sync(file, antPattern, slashSeparatedAntPattern, excludeBuildFolders, backupContractsFolder.get().getAsFile());
-		OutputStream os;
-		if (getLogger().isDebugEnabled()) {
-			os = new ByteArrayOutputStream();
-		} else {
-			os = NullOutputStream.INSTANCE;
-		}
 		try {
-			executors.javaexec(exec -> {
-				exec.getMainClass().set("org.springframework.cloud.contract.verifier.converter.ToYamlConverterApplication");
-				exec.classpath(classpath);
-				exec.args(quoteAndEscape(outputContractsFolder.getAbsolutePath()));
-				exec.setStandardOutput(os);
-				exec.setErrorOutput(os);
-			});
+			ContractsApplicationWorkAction.run(workers, getLogger(), classpath,
+					"org.springframework.cloud.contract.verifier.converter.ToYamlConverterApplication",
+					outputContractsFolder.getAbsolutePath());
 		} catch (Exception e) {
 			throw new GradleException("Spring Cloud Contract Verifier Plugin exception: " + e.getMessage(), e);
-		} finally {
-			if (getLogger().isDebugEnabled()) {
-				getLogger().debug(os.toString());
-			}
 		}
 		getLogger().info("Replaced DSL files with their YAML representation at [{}]", outputContractsFolder);
 	}
@@ -558,12 +541,4 @@ class ContractsCopyTask extends DefaultTask {
 		return null;
 	}
 
-	// See: https://github.com/gradle/gradle/issues/6072
-	private String quoteAndEscape(String str) {
-		if (System.getProperty("os.name").contains("Windows")) {
-			return "\"" + str.replace("\"", "\\\"") + "\"";
-		}
-		return str;
-	}
-
 }
@@ -16,13 +16,10 @@
 
 package org.springframework.cloud.contract.verifier.plugin;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.OutputStream;
 
 import javax.inject.Inject;
 
-import org.eclipse.jgit.util.io.NullOutputStream;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
@@ -35,12 +32,13 @@ import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkerExecutor;
 import org.springframework.util.StringUtils;
 
 //TODO: Implement as an incremental task: https://gradle.org/docs/current/userguide/custom_tasks.html#incremental_tasks ?
@@ -64,22 +62,31 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 
 	private final Property<Boolean> excludeBuildFolders;
 
+	private final DirectoryProperty contractsCacheDir;
+
+	private final DirectoryProperty compiledContractsCacheDir;
+
+	private final Property<Integer> parallelism;
+
 	private final ConfigurableFileCollection classpath;
 
 	private final DirectoryProperty stubsOutputDir;
 
-	final ExecOperations executors;
+	final WorkerExecutor workers;
 
 	@Inject
 	public GenerateClientStubsFromDslTask(
 			final ObjectFactory objects,
-			final ExecOperations executors
+			final WorkerExecutor workers
 	) {
-		this.executors = executors;
+		this.workers = workers;
 
 		contractsDslDir = objects.directoryProperty();
 		excludedFiles = objects.listProperty(String.class);
 		excludeBuildFolders = objects.property(Boolean.class);
+		contractsCacheDir = objects.directoryProperty();
+		compiledContractsCacheDir = objects.directoryProperty();
+		parallelism = objects.property(Integer.class);
 		classpath = objects.fileCollection();
 
 		stubsOutputDir = objects.directoryProperty();
@@ -91,27 +98,18 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 		getLogger().info("Stubs output dir [{}]", output);
 		getLogger().info("Spring Cloud Contract Verifier Plugin: Invoking DSL to client stubs conversion");
 		getLogger().info("Contracts dir is [{}] output stubs dir is [{}]", contractsDslDir.get().getAsFile(), output);
-		OutputStream os;
-		if (getLogger().isDebugEnabled()) {
-			os = new ByteArrayOutputStream();
-		} else {
-			os = NullOutputStream.INSTANCE;
-		}
 		try {
-			executors.javaexec(exec -> {
-				exec.getMainClass().set("org.springframework.cloud.contract.verifier.converter.RecursiveFilesConverterApplication");
-				exec.classpath(classpath);
-				exec.args(quoteAndEscape(output.getAbsolutePath()), quoteAndEscape(contractsDslDir.get().getAsFile().getAbsolutePath()),
-						quoteAndEscape(StringUtils.collectionToCommaDelimitedString(excludedFiles.get())), quoteAndEscape(".*"), excludeBuildFolders.get());
-				exec.setStandardOutput(os);
-				exec.setErrorOutput(os);
-			});
+			ContractsApplicationWorkAction.run(workers, getLogger(), classpath,
+					"org.springframework.cloud.contract.verifier.converter.RecursiveFilesConverterApplication",
+					output.getAbsolutePath(), contractsDslDir.get().getAsFile().getAbsolutePath(),
+					StringUtils.collectionToCommaDelimitedString(excludedFiles.get()), ".*",
+					String.valueOf(excludeBuildFolders.get()),
+					contractsCacheDir.isPresent() ? contractsCacheDir.get().getAsFile().getAbsolutePath() : "",
+					String.valueOf(parallelism.getOrElse(1)),
+					compiledContractsCacheDir.isPresent()
+							? compiledContractsCacheDir.get().getAsFile().getAbsolutePath() : "");
 		} catch (Exception e) {
 			throw new GradleException("Spring Cloud Contract Verifier Plugin exception: " + e.getMessage(), e);
-		} finally {
-			if (getLogger().isDebugEnabled()) {
-				getLogger().debug(os.toString());
-			}
 		}
 	}
 
@@ -132,6 +130,21 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 		return excludeBuildFolders;
 	}
 
+	@Internal
+	public DirectoryProperty getContractsCacheDir() {
+		return contractsCacheDir;
+	}
+
+	@Internal
+	public DirectoryProperty getCompiledContractsCacheDir() {
+		return compiledContractsCacheDir;
+	}
+
+	@Internal
+	public Property<Integer> getParallelism() {
+		return parallelism;
+	}
+
 	@Classpath
 	public ConfigurableFileCollection getClasspath() {
 		return classpath;
@@ -142,12 +155,4 @@ class GenerateClientStubsFromDslTask extends DefaultTask {
 		return stubsOutputDir;
 	}
 
-	// See: https://github.com/gradle/gradle/issues/6072
-	private String quoteAndEscape(String str) {
-		if (System.getProperty("os.name").contains("Windows")) {
-			return "\"" + str.replace("\"", "\\\"") + "\"";
-		}
-		return str;
-	}
-
 }
@@ -16,14 +16,11 @@
 
 package org.springframework.cloud.contract.verifier.plugin;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.OutputStream;
 import java.util.List;
 
 import javax.inject.Inject;
 
-import org.eclipse.jgit.util.io.NullOutputStream;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
@@ -36,13 +33,14 @@ import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkerExecutor;
 import org.springframework.cloud.contract.verifier.config.ContractVerifierConfigProperties;
 import org.springframework.cloud.contract.verifier.config.TestFramework;
 import org.springframework.cloud.contract.verifier.config.TestMode;
@@ -92,20 +90,26 @@ class GenerateServerTestsTask extends DefaultTask {
 
 	private final Property<Boolean> failOnInProgress;
 
+	private final DirectoryProperty contractsCacheDir;
+
+	private final DirectoryProperty compiledContractsCacheDir;
+
+	private final Property<Integer> parallelism;
+
 	private final ConfigurableFileCollection classpath;
 
 	private final DirectoryProperty generatedTestSourcesDir;
 
 	private final DirectoryProperty generatedTestResourcesDir;
 
-	final ExecOperations executors;
+	final WorkerExecutor workers;
 
 	@Inject
 	public GenerateServerTestsTask(
 			final ObjectFactory objects,
-			final ExecOperations executors
+			final WorkerExecutor workers
 	) {
-		this.executors = executors;
+		this.workers = workers;
 
 		this.contractsDslDir = objects.directoryProperty();
 		this.nameSuffixForTests = objects.property(String.class);
@@ -122,6 +126,9 @@ class GenerateServerTestsTask extends DefaultTask {
 		this.baseClassMappings = objects.mapProperty(String.class, String.class);
 		this.assertJsonSize = objects.property(Boolean.class);
 		this.failOnInProgress = objects.property(Boolean.class);
+		this.contractsCacheDir = objects.directoryProperty();
+		this.compiledContractsCacheDir = objects.directoryProperty();
+		this.parallelism = objects.property(Integer.class);
 		this.classpath = objects.fileCollection();
 		this.generatedTestSourcesDir = objects.directoryProperty();
 		this.generatedTestResourcesDir = objects.directoryProperty();
@@ -139,32 +146,13 @@ class GenerateServerTestsTask extends DefaultTask {
 		getLogger().info("Contracts are unpacked to [{}]", contractsDslDir);
 		getLogger().info("Included contracts are [{}]", includedContracts);
 		ContractVerifierConfigProperties properties = toConfigProperties(contractsDslDir, includedContracts, generatedTestSources, generatedTestResources);
-		OutputStream stdout;
-		OutputStream stderr;
-		if (getLogger().isDebugEnabled()) {
-			stdout = new ByteArrayOutputStream();
-			stderr = stdout;
-		} else {
-			stdout = NullOutputStream.INSTANCE;
-			stderr = new ByteArrayOutputStream();
-		}
 		try {
 			String propertiesJson = new ObjectMapper().writeValueAsString(properties);
-			executors.javaexec(exec -> {
-				exec.getMainClass().set("org.springframework.cloud.contract.verifier.TestGeneratorApplication");
-				exec.classpath(classpath);
-				exec.args(quoteAndEscape(propertiesJson));
-				exec.setStandardOutput(stdout);
-				exec.setErrorOutput(stderr);
-			});
+			ContractsApplicationWorkAction.run(workers, getLogger(), classpath,
+					"org.springframework.cloud.contract.verifier.TestGeneratorApplication", propertiesJson);
 		}
 		catch (Exception e) {
-			getLogger().error(stderr.toString());
 			throw new GradleException("Spring Cloud Contract Verifier Plugin exception: " + e.getMessage(), e);
-		} finally {
-			if (getLogger().isDebugEnabled()) {
-				getLogger().debug(stdout.toString());
-			}
 		}
 	}
 
@@ -249,6 +237,21 @@ class GenerateServerTestsTask extends DefaultTask {
 		return failOnInProgress;
 	}
 
+	@Internal
+	DirectoryProperty getContractsCacheDir() {
+		return contractsCacheDir;
+	}
+
+	@Internal
+	DirectoryProperty getCompiledContractsCacheDir() {
+		return compiledContractsCacheDir;
+	}
+
+	@Internal
+	Property<Integer> getParallelism() {
+		return parallelism;
+	}
+
 	@Classpath
 	ConfigurableFileCollection getClasspath() {
 		return classpath;
@@ -291,15 +294,11 @@ class GenerateServerTestsTask extends DefaultTask {
 		properties.setBaseClassMappings(baseClassMappings.get());
 		properties.setAssertJsonSize(assertJsonSize.get());
 		properties.setFailOnInProgress(failOnInProgress.get());
+		properties.setContractsCacheDir(contractsCacheDir.isPresent() ? contractsCacheDir.get().getAsFile() : null);
+		properties.setCompiledContractsCacheDir(
+				compiledContractsCacheDir.isPresent() ? compiledContractsCacheDir.get().getAsFile() : null);
+		properties.setParallelism(parallelism.getOrElse(1));
 		return properties;
 	}
 
-	// See: https://github.com/gradle/gradle/issues/6072
-	private String quoteAndEscape(String str) {
-		if (System.getProperty("os.name").contains("Windows")) {
-			return "\"" + str.replace("\"", "\\\"") + "\"";
-		}
-		return str;
-	}
-
 }
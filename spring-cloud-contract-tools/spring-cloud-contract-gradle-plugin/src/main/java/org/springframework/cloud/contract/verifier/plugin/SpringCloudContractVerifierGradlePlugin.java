@@ -277,6 +277,9 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 					.convention(extension.getBaseClassMappings().getBaseClassMappings());
 			generateServerTestsTask.getAssertJsonSize().convention(extension.getAssertJsonSize());
 			generateServerTestsTask.getFailOnInProgress().convention(extension.getFailOnInProgress());
+			generateServerTestsTask.getContractsCacheDir().convention(extension.getContractsCacheDir());
+			generateServerTestsTask.getCompiledContractsCacheDir().convention(extension.getCompiledContractsCacheDir());
+			generateServerTestsTask.getParallelism().convention(extension.getParallelism());
 			generateServerTestsTask.getClasspath()
 					.from(project.getConfigurations().getByName(CONTRACT_TEST_GENERATOR_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
 			generateServerTestsTask.getGeneratedTestSourcesDir()
@@ -341,6 +344,9 @@ public class SpringCloudContractVerifierGradlePlugin implements Plugin<Project>
 							.convention(copyContracts.flatMap(ContractsCopyTask::getCopiedContractsFolder));
 					generateClientStubs.getExcludedFiles().convention(extension.getExcludedFiles());
 					generateClientStubs.getExcludeBuildFolders().convention(extension.getExcludeBuildFolders());
+					generateClientStubs.getContractsCacheDir().convention(extension.getContractsCacheDir());
+					generateClientStubs.getCompiledContractsCacheDir().convention(extension.getCompiledContractsCacheDir());
+					generateClientStubs.getParallelism().convention(extension.getParallelism());
 					generateClientStubs.getClasspath()
 							.from(project.getConfigurations().getByName(CONTRACT_TEST_GENERATOR_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
 
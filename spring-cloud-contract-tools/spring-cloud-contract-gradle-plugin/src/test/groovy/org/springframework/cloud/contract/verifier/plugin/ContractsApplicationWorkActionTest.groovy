@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.plugin
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+
+import static org.junit.jupiter.api.Assertions.assertThrows
+
+class ContractsApplicationWorkActionTest {
+
+	List<File> classpath = [new File(StaticStateApplication.protectionDomain.codeSource.location.toURI())]
+
+	@TempDir
+	Path temp
+
+	@AfterEach
+	void cleanup() {
+		System.clearProperty(StaticStateApplication.RUNS)
+	}
+
+	@Test
+	void "should reuse the loaded application for the same classpath"() {
+		ContractsApplicationWorkAction.runMain(classpath, StaticStateApplication.name, [] as String[], true)
+		int runs = Integer.parseInt(System.getProperty(StaticStateApplication.RUNS))
+		ContractsApplicationWorkAction.runMain(classpath, StaticStateApplication.name, [] as String[], true)
+
+		assert System.getProperty(StaticStateApplication.RUNS) == String.valueOf(runs + 1)
+		assert StaticStateApplication.runs == 0
+	}
+
+	@Test
+	void "should load the application again when the classpath changes"() {
+		String classFile = StaticStateApplication.name.replace('.', '/') + ".class"
+		Path copied = temp.resolve(classFile)
+		Files.createDirectories(copied.parent)
+		Files.copy(classpath.first().toPath().resolve(classFile), copied)
+		List<File> changingClasspath = [temp.toFile()]
+
+		ContractsApplicationWorkAction.runMain(changingClasspath, StaticStateApplication.name, [] as String[], true)
+		ContractsApplicationWorkAction.runMain(changingClasspath, StaticStateApplication.name, [] as String[], true)
+		assert System.getProperty(StaticStateApplication.RUNS) == "2"
+
+		temp.toFile().lastModified = temp.toFile().lastModified() - 10_000
+		ContractsApplicationWorkAction.runMain(changingClasspath, StaticStateApplication.name, [] as String[], true)
+
+		assert System.getProperty(StaticStateApplication.RUNS) == "1"
+	}
+
+	@Test
+	void "should discard the output unless the execution fails"() {
+		PrintStream out = System.out
+		PrintStream err = System.err
+		ByteArrayOutputStream output = new ByteArrayOutputStream()
+		System.out = new PrintStream(output, true)
+		System.err = new PrintStream(output, true)
+		try {
+			ContractsApplicationWorkAction.runMain(classpath, StaticStateApplication.name, [] as String[], true)
+			assert output.toString().isEmpty()
+
+			assertThrows(IllegalArgumentException) {
+				ContractsApplicationWorkAction.runMain(classpath, StaticStateApplication.name, ["broken contract"] as String[], true)
+			}
+			assert output.toString().contains("broken contract")
+			assert !output.toString().contains("Run number")
+		}
+		finally {
+			System.out = out
+			System.err = err
+		}
+		assert System.out.is(out)
+		assert System.err.is(err)
+	}
+
+	@Test
+	void "should show the output when not quiet"() {
+		PrintStream out = System.out
+		ByteArrayOutputStream output = new ByteArrayOutputStream()
+		System.out = new PrintStream(output, true)
+		try {
+			ContractsApplicationWorkAction.runMain(classpath, StaticStateApplication.name, [] as String[], false)
+		}
+		finally {
+			System.out = out
+		}
+
+		assert output.toString().contains("Run number")
+	}
+
+}
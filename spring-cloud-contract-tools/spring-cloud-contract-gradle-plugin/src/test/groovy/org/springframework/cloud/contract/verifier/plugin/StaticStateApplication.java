@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.plugin;
+
+/**
+ * Application with static state, run by {@link ContractsApplicationWorkActionTest}.
+ */
+public class StaticStateApplication {
+
+	/**
+	 * System property with the number of runs of the loaded application class.
+	 */
+	static final String RUNS = "static-state-application.runs";
+
+	static int runs;
+
+	public static void main(String[] args) {
+		runs++;
+		System.setProperty(RUNS, String.valueOf(runs));
+		System.out.println("Run number [" + runs + "]");
+		if (args.length > 0) {
+			System.err.println(args[0]);
+			throw new IllegalArgumentException(args[0]);
+		}
+	}
+
+}
@@ -188,6 +188,30 @@ public class ConvertMojo extends AbstractMojo {
 	@Parameter(property = "incrementalContractStubs", defaultValue = "true")
 	private boolean incrementalContractStubs = true;
 
+	/**
+	 * Directory where contracts evaluated from DSL files (e.g. Groovy) are stored as YAML,
+	 * so that the {@code generateTests} and {@code convert} goals don't both evaluate
+	 * them. Not set by default, which means that the contracts are evaluated by each
+	 * goal.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.contractsCacheDirectory")
+	private File contractsCacheDirectory;
+
+	/**
+	 * Directory where the bytecode of compiled Groovy contracts is stored, so that
+	 * subsequent builds don't compile the unchanged contracts again. Not set by default,
+	 * which means that the contracts are compiled in each build.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.compiledContractsCacheDirectory")
+	private File compiledContractsCacheDirectory;
+
+	/**
+	 * Max number of contract files converted to stubs at the same time. Custom stub
+	 * generators have to be thread safe when it's greater than {@code 1}.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.parallelism", defaultValue = "1")
+	private int parallelism = 1;
+
 	@Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
 	private MojoExecution mojoExecution;
 
@@ -218,7 +242,24 @@ public class ConvertMojo extends AbstractMojo {
 		}
 
 		File contractsDslDir = contractsDslDir(contractsDirectory);
-		LeftOverPrevention leftOverPrevention = new LeftOverPrevention(this.stubsDirectory, mojoExecution, session);
+		IncrementalGeneration incrementalGeneration = this.incrementalContractStubs && isInsideProject()
+				? IncrementalGeneration.forExecution(contractsDirectory, this.stubsDirectory, this.project,
+						this.mojoExecution, rootPath, this.convertToYaml, config.isExcludeBuildFolders(),
+						config.getExcludedFiles(), config.getIncludedContracts(),
+						config.getIncludedRootFolderAntPattern())
+				: null;
+		if (incrementalGeneration != null && !incrementalGeneration.hasChanges()) {
+			getLog().info("Nothing to generate - all stubs are up to date");
+			return;
+		}
+		// with incremental generation only the stubs of changed contracts are replaced
+		LeftOverPrevention leftOverPrevention = incrementalGeneration == null
+				|| incrementalGeneration.isFullGeneration()
+						? new LeftOverPrevention(this.stubsDirectory, mojoExecution, session) : null;
+		if (incrementalGeneration != null) {
+			incrementalGeneration.deleteCopies(contractsCopyDirectory(rootPath));
+			incrementalGeneration.deleteCopies(new File(this.stubsDirectory, rootPath + ORIGINAL_PATH));
+		}
 
 		File copiedContracts = copyContracts(rootPath, config, contractsDirectory);
 		if (this.convertToYaml) {
@@ -228,11 +269,24 @@ public class ConvertMojo extends AbstractMojo {
 		config.setContractsDslDir(contractsDslDir);
 		config.setStubsOutputDir(stubsOutputDir(rootPath));
 		logSetup(config, contractsDslDir);
-		RecursiveFilesConverter converter = new RecursiveFilesConverter(config.getStubsOutputDir(),
-				config.getContractsDslDir(), config.getExcludedFiles(), config.getIncludedContracts(),
-				config.isExcludeBuildFolders());
-		converter.processFiles();
-		leftOverPrevention.deleteLeftOvers();
+		RecursiveFilesConverter converter = RecursiveFilesConverter.builder()
+			.stubsOutputDir(config.getStubsOutputDir())
+			.contractsDslDir(config.getContractsDslDir())
+			.excludedFiles(config.getExcludedFiles())
+			.includedContracts(config.getIncludedContracts())
+			.excludeBuildFolders(config.isExcludeBuildFolders())
+			.contractsCacheDir(this.contractsCacheDirectory)
+			.parallelism(this.parallelism)
+			.compiledContractsCacheDir(this.compiledContractsCacheDirectory)
+			.build();
+		converter.processFiles(
+				incrementalGeneration != null ? incrementalGeneration.contractDirectories(contractsDslDir) : null);
+		if (leftOverPrevention != null) {
+			leftOverPrevention.deleteLeftOvers();
+		}
+		if (incrementalGeneration != null) {
+			incrementalGeneration.complete(contractsDslDir, converter.getGeneratedStubs());
+		}
 	}
 
 	private void convertBackedUpDslsToYaml(String rootPath, ContractVerifierConfigProperties config,
@@ -252,13 +306,17 @@ public class ConvertMojo extends AbstractMojo {
 
 	private File copyContracts(String rootPath, ContractVerifierConfigProperties config, File contractsDirectory)
 			throws MojoExecutionException {
-		File outputFolderWithContracts = this.stubsDirectory.getPath().endsWith("contracts") ? this.stubsDirectory
-				: new File(this.stubsDirectory, rootPath + CONTRACTS_PATH);
+		File outputFolderWithContracts = contractsCopyDirectory(rootPath);
 		new CopyContracts(this.project, this.mavenSession, this.mavenResourcesFiltering, config)
 			.copy(contractsDirectory, outputFolderWithContracts);
 		return outputFolderWithContracts;
 	}
 
+	private File contractsCopyDirectory(String rootPath) {
+		return this.stubsDirectory.getPath().endsWith("contracts") ? this.stubsDirectory
+				: new File(this.stubsDirectory, rootPath + CONTRACTS_PATH);
+	}
+
 	private void logSetup(ContractVerifierConfigProperties config, File contractsDslDir) {
 		if (getLog().isDebugEnabled()) {
 			getLog().debug("The contracts dir equals [" + contractsDslDir + "]");
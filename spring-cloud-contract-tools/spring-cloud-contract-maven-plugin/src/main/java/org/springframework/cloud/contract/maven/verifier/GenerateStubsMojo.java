@@ -17,6 +17,10 @@
 package org.springframework.cloud.contract.maven.verifier;
 
 import java.io.File;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -105,6 +109,15 @@ public class GenerateStubsMojo extends AbstractMojo {
 	@Parameter(property = "failOnNoContracts", defaultValue = "true")
 	private boolean failOnNoContracts;
 
+	/**
+	 * Timestamp of the stubs jar entries, which makes the jar reproducible. Either
+	 * formatted as ISO 8601 {@code yyyy-MM-dd'T'HH:mm:ssXXX} or as seconds since the
+	 * epoch. Defaults to the {@code project.build.outputTimestamp} property, the same as
+	 * for the project jar.
+	 */
+	@Parameter(defaultValue = "${project.build.outputTimestamp}")
+	private String outputTimestamp;
+
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.skip || this.jarSkip) {
 			getLog().info("Skipping Spring Cloud Contract Verifier execution: spring.cloud.contract.verifier.skip="
@@ -135,14 +148,20 @@ public class GenerateStubsMojo extends AbstractMojo {
 		return new File(this.projectBuildDirectory, stubArchiveName);
 	}
 
-	private void fillStubJar(File stubsOutputDir, File stubsJarFile) throws MojoFailureException {
+	private void fillStubJar(File stubsOutputDir, File stubsJarFile)
+			throws MojoExecutionException, MojoFailureException {
+		Instant timestamp = parseOutputTimestamp(this.outputTimestamp);
 		String[] excludes = excludes();
 		getLog().info(
 				"Files matching this pattern will be excluded from " + "stubs generation " + Arrays.toString(excludes));
 		try {
 			this.archiver.addDirectory(stubsOutputDir, new String[] { "**/*.*" },
 					excludedFilesEmpty() ? new String[0] : this.excludedFiles);
+			// entries are compressed in parallel by the archiver
 			this.archiver.setCompress(true);
+			if (timestamp != null) {
+				this.archiver.configureReproducibleBuild(FileTime.from(timestamp));
+			}
 			this.archiver.setDestFile(stubsJarFile);
 			this.archiver.addConfiguredManifest(ManifestCreator.createManifest(this.project));
 			this.archiver.createArchive();
@@ -152,6 +171,27 @@ public class GenerateStubsMojo extends AbstractMojo {
 		}
 	}
 
+	/**
+	 * Parses the timestamp the same way as the Maven archiver does.
+	 * @param outputTimestamp ISO 8601 date time or seconds since the epoch
+	 * @return timestamp or {@code null} when not set or disabled (a single character)
+	 */
+	static Instant parseOutputTimestamp(String outputTimestamp) throws MojoExecutionException {
+		if (outputTimestamp == null || outputTimestamp.length() < 2) {
+			return null;
+		}
+		try {
+			if (outputTimestamp.chars().allMatch(Character::isDigit)) {
+				return Instant.ofEpochSecond(Long.parseLong(outputTimestamp));
+			}
+			return OffsetDateTime.parse(outputTimestamp).toInstant();
+		}
+		catch (DateTimeParseException | NumberFormatException e) {
+			throw new MojoExecutionException("Invalid project.build.outputTimestamp value [" + outputTimestamp + "]",
+					e);
+		}
+	}
+
 	private boolean stubsOutputMissing(File stubsOutputDir) {
 		return !stubsOutputDir.exists();
 	}
@@ -17,9 +17,13 @@
 package org.springframework.cloud.contract.maven.verifier;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
@@ -233,6 +237,13 @@ public class GenerateTestsMojo extends AbstractMojo {
 	@Parameter(property = "failOnInProgress", defaultValue = "true")
 	private boolean failOnInProgress = true;
 
+	/**
+	 * Max number of contract directories for which tests are generated at the same time.
+	 * Contract files are also converted with the same parallelism.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.parallelism", defaultValue = "1")
+	private int parallelism = 1;
+
 	/**
 	 * If set to true then tests are created only when contracts have changed since last
 	 * build.
@@ -240,6 +251,23 @@ public class GenerateTestsMojo extends AbstractMojo {
 	@Parameter(property = "incrementalContractTests", defaultValue = "true")
 	private boolean incrementalContractTests = true;
 
+	/**
+	 * Directory where contracts evaluated from DSL files (e.g. Groovy) are stored as YAML,
+	 * so that the {@code generateTests} and {@code convert} goals don't both evaluate
+	 * them. Not set by default, which means that the contracts are evaluated by each
+	 * goal.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.contractsCacheDirectory")
+	private File contractsCacheDirectory;
+
+	/**
+	 * Directory where the bytecode of compiled Groovy contracts is stored, so that
+	 * subsequent builds don't compile the unchanged contracts again. Not set by default,
+	 * which means that the contracts are compiled in each build.
+	 */
+	@Parameter(property = "spring.cloud.contract.verifier.compiledContractsCacheDirectory")
+	private File compiledContractsCacheDirectory;
+
 	@Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
 	private MojoExecution mojoExecution;
 
@@ -262,6 +290,9 @@ public class GenerateTestsMojo extends AbstractMojo {
 		getLog().info("Generating server tests source code for Spring Cloud Contract Verifier contract verification");
 		final ContractVerifierConfigProperties config = new ContractVerifierConfigProperties();
 		config.setFailOnInProgress(this.failOnInProgress);
+		config.setParallelism(this.parallelism);
+		config.setContractsCacheDir(this.contractsCacheDirectory);
+		config.setCompiledContractsCacheDir(this.compiledContractsCacheDirectory);
 		// download contracts, unzip them and pass as output directory
 		File contractsDirectory = new MavenContractsDownloader(this.project, this.contractDependency,
 				this.contractsPath, this.contractsRepositoryUrl, this.contractsMode, getLog(),
@@ -279,6 +310,14 @@ public class GenerateTestsMojo extends AbstractMojo {
 		}
 
 		setupConfig(config, contractsDirectory);
+		IncrementalGeneration incrementalGeneration = this.incrementalContractTests
+				? IncrementalGeneration.forExecution(contractsDirectory, this.generatedTestSourcesDir, this.project,
+						this.mojoExecution, testsConfiguration(config))
+				: null;
+		if (incrementalGeneration != null && !incrementalGeneration.hasChanges()) {
+			getLog().info("Nothing to generate - all classes are up to date");
+			return;
+		}
 		this.project.addTestCompileSourceRoot(this.generatedTestSourcesDir.getAbsolutePath());
 		Resource resource = new Resource();
 		resource.setDirectory(this.generatedTestResourcesDir.getAbsolutePath());
@@ -291,12 +330,25 @@ public class GenerateTestsMojo extends AbstractMojo {
 					+ this.baseClassMappings);
 		}
 		try {
-			LeftOverPrevention leftOverPrevention = new LeftOverPrevention(this.generatedTestSourcesDir, mojoExecution,
-					session);
-			TestGenerator generator = new TestGenerator(config);
+			// with incremental generation only the classes of changed contracts are
+			// replaced
+			LeftOverPrevention leftOverPrevention = incrementalGeneration == null
+					|| incrementalGeneration.isFullGeneration()
+							? new LeftOverPrevention(this.generatedTestSourcesDir, mojoExecution, session) : null;
+			TestGenerator generator = new TestGenerator(config,
+					incrementalGeneration != null ? incrementalGeneration.contractDirectories(contractsDirectory)
+							: null);
 			int generatedClasses = generator.generate();
 			getLog().info("Generated " + generatedClasses + " test classes.");
-			leftOverPrevention.deleteLeftOvers();
+			if (leftOverPrevention != null) {
+				leftOverPrevention.deleteLeftOvers();
+			}
+			if (incrementalGeneration != null) {
+				incrementalGeneration.complete(contractsDirectory, generator.getGeneratedClasses()
+					.entrySet()
+					.stream()
+					.collect(Collectors.toMap(Map.Entry::getKey, entry -> Collections.singletonList(entry.getValue()))));
+			}
 		}
 		catch (ContractVerifierException e) {
 			throw new MojoExecutionException(
@@ -342,6 +394,15 @@ public class GenerateTestsMojo extends AbstractMojo {
 		}
 	}
 
+	private List<Object> testsConfiguration(ContractVerifierConfigProperties config) {
+		return Arrays.asList(config.getGeneratedTestResourcesDir(), config.getTestFramework(), config.getTestMode(),
+				config.getBasePackageForTests(), config.getBaseClassForTests(), config.getRuleClassForTests(),
+				config.getNameSuffixForTests(), Arrays.toString(config.getImports()),
+				Arrays.toString(config.getStaticImports()), config.getIgnoredFiles(), config.getExcludedFiles(),
+				config.getIncludedFiles(), config.getIncludedContracts(), config.getAssertJsonSize(),
+				config.getPackageWithBaseClasses(), new TreeMap<>(mappingsToMap()), config.isFailOnInProgress());
+	}
+
 	public Map<String, String> mappingsToMap() {
 		Map<String, String> map = new HashMap<>();
 		if (this.baseClassMappings == null) {
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.maven.verifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+
+import org.springframework.cloud.contract.verifier.util.ContractFilesUtil;
+
+/**
+ * Keeps a manifest of the contract directories (with hashes of their files) and of the
+ * files generated from each of them. Thanks to that only the outputs of the changed
+ * contract directories get regenerated and only the outputs of the changed and removed
+ * directories that were not generated again get deleted. When the manifest is missing, the
+ * configuration of the generation has changed or any file other than a contract (e.g. a
+ * body or a helper class referenced by contracts of other directories) has changed,
+ * everything gets generated.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class IncrementalGeneration {
+
+	private static final Log log = LogFactory.getLog(IncrementalGeneration.class);
+
+	private static final String CONFIGURATION = "configuration";
+
+	private static final String DIRECTORY_PREFIX = "directory.";
+
+	private static final String OUTPUTS_PREFIX = "outputs.";
+
+	private static final String OUTPUTS_SEPARATOR = "\n";
+
+	private static final String RESOURCES = "resources";
+
+	private final Path outputDirectory;
+
+	private final Path manifest;
+
+	private final String configuration;
+
+	private final Map<String, String> directories = new TreeMap<>();
+
+	private final String resources;
+
+	private final Properties previous;
+
+	private final Set<String> changed = new HashSet<>();
+
+	private final Set<String> removed = new HashSet<>();
+
+	private final boolean fullGeneration;
+
+	IncrementalGeneration(File contractsDirectory, File outputDirectory, File manifest, List<?> configuration)
+			throws MojoExecutionException {
+		this.outputDirectory = outputDirectory.toPath();
+		this.manifest = manifest.toPath();
+		this.configuration = hash(String.valueOf(configuration).getBytes(StandardCharsets.UTF_8));
+		this.resources = hashDirectories(contractsDirectory.toPath());
+		this.previous = read(this.manifest);
+		if (this.previous != null) {
+			this.directories.forEach((directory, hash) -> {
+				if (!hash.equals(this.previous.getProperty(DIRECTORY_PREFIX + directory))) {
+					this.changed.add(directory);
+				}
+			});
+			previousDirectories().stream()
+				.filter(directory -> !this.directories.containsKey(directory))
+				.forEach(this.removed::add);
+		}
+		this.fullGeneration = isFullGenerationRequired();
+	}
+
+	/**
+	 * @param contractsDirectory directory with contracts
+	 * @param outputDirectory directory to which the outputs are generated
+	 * @param project maven project
+	 * @param mojoExecution execution of the goal
+	 * @param configuration any configuration that affects the generated outputs
+	 * @return incremental generation with the manifest stored per goal execution
+	 */
+	static IncrementalGeneration forExecution(File contractsDirectory, File outputDirectory, MavenProject project,
+			MojoExecution mojoExecution, Object... configuration) throws MojoExecutionException {
+		File manifest = new File(project.getBuild().getDirectory(), "maven-status/spring-cloud-contract/"
+				+ mojoExecution.getGoal() + "-" + mojoExecution.getExecutionId() + ".properties");
+		List<Object> fullConfiguration = new ArrayList<>(Arrays.asList(configuration));
+		// a different plugin version might generate different outputs
+		if (mojoExecution.getMojoDescriptor() != null) {
+			fullConfiguration.add(mojoExecution.getMojoDescriptor().getPluginDescriptor().getVersion());
+		}
+		return new IncrementalGeneration(contractsDirectory, outputDirectory, manifest, fullConfiguration);
+	}
+
+	/**
+	 * @return {@code true} when all outputs have to be generated
+	 */
+	boolean isFullGeneration() {
+		return this.fullGeneration;
+	}
+
+	/**
+	 * @return {@code false} when the contracts are the same as during the last
+	 * generation
+	 */
+	boolean hasChanges() {
+		return this.fullGeneration || !this.changed.isEmpty() || !this.removed.isEmpty();
+	}
+
+	/**
+	 * @param baseDirectory directory with contracts
+	 * @return predicate matching the directories of contracts that should be generated
+	 * again or {@code null} when all of them should be generated
+	 */
+	Predicate<Path> contractDirectories(File baseDirectory) {
+		if (this.fullGeneration) {
+			return null;
+		}
+		Path base = baseDirectory.toPath();
+		return directory -> this.changed.contains(relative(base, directory));
+	}
+
+	/**
+	 * Deletes files from a copy of the contracts directory that belong to the changed and
+	 * removed contract directories. The files of the directories that still exist are
+	 * expected to be copied again.
+	 * @param copyDirectory copy of the contracts directory
+	 */
+	void deleteCopies(File copyDirectory) throws MojoExecutionException {
+		for (String directory : affectedDirectories()) {
+			File[] files = new File(copyDirectory, directory).listFiles(File::isFile);
+			if (files == null) {
+				continue;
+			}
+			for (File file : files) {
+				delete(file.toPath());
+			}
+		}
+	}
+
+	/**
+	 * Deletes outputs that were not generated again and stores the manifest.
+	 * @param baseDirectory directory with contracts
+	 * @param generated generated files per directory of contracts
+	 */
+	void complete(File baseDirectory, Map<Path, ? extends Collection<Path>> generated)
+			throws MojoExecutionException {
+		Map<String, Set<String>> outputs = new TreeMap<>();
+		Set<String> affected = affectedDirectories();
+		if (!this.fullGeneration) {
+			for (String directory : this.directories.keySet()) {
+				if (!affected.contains(directory)) {
+					outputs.put(directory, previousOutputs(directory));
+				}
+			}
+		}
+		generated.forEach((directory, files) -> {
+			Set<String> directoryOutputs = outputs.computeIfAbsent(relative(baseDirectory.toPath(), directory),
+					s -> new HashSet<>());
+			files.forEach(file -> directoryOutputs.add(relative(this.outputDirectory, file)));
+		});
+		for (String directory : affected) {
+			Set<String> directoryOutputs = outputs.getOrDefault(directory, Collections.emptySet());
+			for (String output : previousOutputs(directory)) {
+				if (!directoryOutputs.contains(output)) {
+					if (log.isDebugEnabled()) {
+						log.debug("Deleting [" + output + "] that is no longer generated from [" + directory + "]");
+					}
+					delete(this.outputDirectory.resolve(output));
+				}
+			}
+		}
+		write(outputs);
+	}
+
+	private boolean isFullGenerationRequired() {
+		if (this.previous == null) {
+			return true;
+		}
+		if (!this.configuration.equals(this.previous.getProperty(CONFIGURATION))) {
+			log.info("Configuration has changed since the last build, will generate everything");
+			return true;
+		}
+		if (!this.resources.equals(this.previous.getProperty(RESOURCES))) {
+			log.info("Files other than contracts have changed since the last build, they might be referenced by any "
+					+ "contract. Will generate everything");
+			return true;
+		}
+		for (String directory : affectedDirectories()) {
+			// e.g. a directory with bodies, referenced by contracts from other
+			// directories
+			if (this.previous.containsKey(DIRECTORY_PREFIX + directory) && previousOutputs(directory).isEmpty()) {
+				log.info("Directory [" + directory
+						+ "] without generated outputs has changed, its files might be referenced by other contracts. Will generate everything");
+				return true;
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Changed contract directories " + this.changed + ", removed contract directories "
+					+ this.removed);
+		}
+		return false;
+	}
+
+	private Set<String> affectedDirectories() {
+		if (this.previous == null) {
+			return Collections.emptySet();
+		}
+		if (this.fullGeneration) {
+			return previousDirectories();
+		}
+		Set<String> affected = new HashSet<>(this.changed);
+		affected.addAll(this.removed);
+		return affected;
+	}
+
+	private Set<String> previousDirectories() {
+		Set<String> directories = new HashSet<>();
+		for (String key : this.previous.stringPropertyNames()) {
+			if (key.startsWith(DIRECTORY_PREFIX)) {
+				directories.add(key.substring(DIRECTORY_PREFIX.length()));
+			}
+		}
+		return directories;
+	}
+
+	private Set<String> previousOutputs(String directory) {
+		String outputs = this.previous != null ? this.previous.getProperty(OUTPUTS_PREFIX + directory) : null;
+		if (outputs == null || outputs.isEmpty()) {
+			return new HashSet<>();
+		}
+		return new HashSet<>(Arrays.asList(outputs.split(OUTPUTS_SEPARATOR)));
+	}
+
+	private void write(Map<String, Set<String>> outputs) throws MojoExecutionException {
+		Properties properties = new Properties();
+		properties.setProperty(CONFIGURATION, this.configuration);
+		properties.setProperty(RESOURCES, this.resources);
+		this.directories.forEach((directory, hash) -> properties.setProperty(DIRECTORY_PREFIX + directory, hash));
+		outputs.forEach((directory, files) -> properties.setProperty(OUTPUTS_PREFIX + directory,
+				String.join(OUTPUTS_SEPARATOR, files.stream().sorted().toList())));
+		try {
+			Files.createDirectories(this.manifest.getParent());
+			try (OutputStream stream = Files.newOutputStream(this.manifest)) {
+				properties.store(stream, null);
+			}
+		}
+		catch (IOException ex) {
+			throw new MojoExecutionException("Failed to store the manifest of generated files [" + this.manifest + "]",
+					ex);
+		}
+	}
+
+	private static Properties read(Path manifest) {
+		if (!Files.isRegularFile(manifest)) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream stream = Files.newInputStream(manifest)) {
+			properties.load(stream);
+			return properties;
+		}
+		catch (IOException ex) {
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to read the manifest of generated files [" + manifest + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Hashes the files of each contract directory and, separately, all files that are not
+	 * contracts.
+	 * @return hash of the files that are not contracts
+	 */
+	private String hashDirectories(Path contractsDirectory) throws MojoExecutionException {
+		Map<String, MessageDigest> digests = new TreeMap<>();
+		MessageDigest resources = sha256();
+		if (!Files.isDirectory(contractsDirectory)) {
+			return HexFormat.of().formatHex(resources.digest());
+		}
+		try (Stream<Path> paths = Files.walk(contractsDirectory)) {
+			for (Path file : paths.filter(Files::isRegularFile).sorted().toList()) {
+				byte[] content = Files.readAllBytes(file);
+				byte[] hash = sha256().digest(content);
+				MessageDigest digest = digests.computeIfAbsent(relative(contractsDirectory, file.getParent()),
+						s -> sha256());
+				digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(hash);
+				// files other than contracts (e.g. a helper class) might be referenced by
+				// contracts from any directory
+				if (!ContractFilesUtil.isContract(file, content)) {
+					resources.update(relative(contractsDirectory, file).getBytes(StandardCharsets.UTF_8));
+					resources.update(hash);
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new MojoExecutionException("Failed to hash the contracts from [" + contractsDirectory + "]", ex);
+		}
+		digests.forEach(
+				(directory, digest) -> this.directories.put(directory, HexFormat.of().formatHex(digest.digest())));
+		return HexFormat.of().formatHex(resources.digest());
+	}
+
+	private static void delete(Path path) throws MojoExecutionException {
+		try {
+			Files.deleteIfExists(path);
+		}
+		catch (IOException ex) {
+			throw new MojoExecutionException("Failed to delete [" + path + "]", ex);
+		}
+	}
+
+	private static String relative(Path base, Path path) {
+		return base.toAbsolutePath().relativize(path.toAbsolutePath()).toString().replace(File.separatorChar, '/');
+	}
+
+	private static String hash(byte[] bytes) {
+		return HexFormat.of().formatHex(sha256().digest(bytes));
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.maven.verifier;
+
+import java.time.Instant;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class GenerateStubsMojoTests {
+
+	@Test
+	void should_parse_output_timestamp() throws MojoExecutionException {
+		then(GenerateStubsMojo.parseOutputTimestamp("2024-01-02T03:04:05Z"))
+			.isEqualTo(Instant.parse("2024-01-02T03:04:05Z"));
+		then(GenerateStubsMojo.parseOutputTimestamp("1704164645")).isEqualTo(Instant.parse("2024-01-02T03:04:05Z"));
+	}
+
+	@Test
+	void should_not_set_output_timestamp_when_missing_or_disabled() throws MojoExecutionException {
+		then(GenerateStubsMojo.parseOutputTimestamp(null)).isNull();
+		then(GenerateStubsMojo.parseOutputTimestamp("a")).isNull();
+	}
+
+	@Test
+	void should_fail_on_invalid_output_timestamp() {
+		thenThrownBy(() -> GenerateStubsMojo.parseOutputTimestamp("yesterday"))
+			.isInstanceOf(MojoExecutionException.class);
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.maven.verifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class IncrementalGenerationTests {
+
+	@TempDir
+	File tmp;
+
+	@Test
+	void should_generate_only_changed_directories_and_delete_orphaned_outputs()
+			throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.yml", contract("/foo"));
+		Path bar = file(contracts, "bar/shouldBar.yml", contract("/bar"));
+		Path fooTest = file(output, "FooTest.java", "foo");
+		Path barTest = file(output, "BarTest.java", "bar");
+		IncrementalGeneration first = new IncrementalGeneration(contracts, output, manifest, List.of("config"));
+		then(first.isFullGeneration()).isTrue();
+		then(first.contractDirectories(contracts)).isNull();
+		first.complete(contracts,
+				Map.of(foo.getParent(), List.of(fooTest), bar.getParent(), List.of(barTest)));
+
+		Files.writeString(bar, contract("/changed-bar"));
+		Files.delete(foo);
+		IncrementalGeneration second = new IncrementalGeneration(contracts, output, manifest, List.of("config"));
+
+		then(second.isFullGeneration()).isFalse();
+		then(second.hasChanges()).isTrue();
+		then(second.contractDirectories(contracts).test(bar.getParent())).isTrue();
+		then(second.contractDirectories(contracts).test(foo.getParent())).isFalse();
+		second.complete(contracts, Map.of(bar.getParent(), List.of(barTest)));
+		then(fooTest).doesNotExist();
+		then(barTest).exists();
+		then(new IncrementalGeneration(contracts, output, manifest, List.of("config")).hasChanges()).isFalse();
+	}
+
+	@Test
+	void should_generate_everything_when_configuration_changed() throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.yml", contract("/foo"));
+		new IncrementalGeneration(contracts, output, manifest, List.of("config")).complete(contracts,
+				Map.of(foo.getParent(), List.of(file(output, "FooTest.java", "foo"))));
+
+		IncrementalGeneration generation = new IncrementalGeneration(contracts, output, manifest,
+				List.of("other config"));
+
+		then(generation.isFullGeneration()).isTrue();
+		then(generation.hasChanges()).isTrue();
+	}
+
+	@Test
+	void should_generate_everything_when_directory_without_outputs_changed()
+			throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.yml", contract("/foo"));
+		Path body = file(contracts, "bodies/foo.json", "{}");
+		new IncrementalGeneration(contracts, output, manifest, List.of("config")).complete(contracts,
+				Map.of(foo.getParent(), List.of(file(output, "FooTest.java", "foo"))));
+
+		Files.writeString(body, "{\"foo\":\"bar\"}");
+
+		then(new IncrementalGeneration(contracts, output, manifest, List.of("config")).isFullGeneration()).isTrue();
+	}
+
+	@Test
+	void should_generate_everything_when_file_other_than_contract_changed()
+			throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.yml", contract("/foo"));
+		Path body = file(contracts, "foo/body.json", "{}");
+		Path bar = file(contracts, "bar/shouldBar.yml", contract("/bar"));
+		new IncrementalGeneration(contracts, output, manifest, List.of("config")).complete(contracts,
+				Map.of(foo.getParent(), List.of(file(output, "FooTest.java", "foo")), bar.getParent(),
+						List.of(file(output, "BarTest.java", "bar"))));
+
+		Files.writeString(body, "{\"foo\":\"bar\"}");
+
+		then(new IncrementalGeneration(contracts, output, manifest, List.of("config")).isFullGeneration()).isTrue();
+	}
+
+	@Test
+	void should_generate_everything_when_yaml_file_other_than_contract_changed()
+			throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.yml", contract("/foo"));
+		Path body = file(contracts, "foo/body.yml", "foo: bar\n");
+		new IncrementalGeneration(contracts, output, manifest, List.of("config")).complete(contracts,
+				Map.of(foo.getParent(), List.of(file(output, "FooTest.java", "foo"))));
+
+		Files.writeString(body, "foo: baz\n");
+
+		then(new IncrementalGeneration(contracts, output, manifest, List.of("config")).isFullGeneration()).isTrue();
+	}
+
+	@Test
+	void should_generate_everything_when_helper_class_changed() throws MojoExecutionException, IOException {
+		File contracts = new File(this.tmp, "contracts");
+		File output = new File(this.tmp, "output");
+		File manifest = new File(this.tmp, "manifest.properties");
+		Path foo = file(contracts, "foo/shouldFoo.groovy",
+				"org.springframework.cloud.contract.spec.Contract.make { request { url(helper.Urls.FOO) } }");
+		Path helper = file(contracts, "helper/Urls.groovy", "package helper\nclass Urls { static String FOO = '/foo' }");
+		Path bar = file(contracts, "helper/shouldBar.yml", contract("/bar"));
+		new IncrementalGeneration(contracts, output, manifest, List.of("config")).complete(contracts,
+				Map.of(foo.getParent(), List.of(file(output, "FooTest.java", "foo")), bar.getParent(),
+						List.of(file(output, "HelperTest.java", "bar"))));
+
+		Files.writeString(helper, "package helper\nclass Urls { static String FOO = '/changed-foo' }");
+
+		then(new IncrementalGeneration(contracts, output, manifest, List.of("config")).isFullGeneration()).isTrue();
+	}
+
+	private String contract(String url) {
+		return "request:\n  method: GET\n  url: " + url + "\nresponse:\n  status: 200\n";
+	}
+
+	private Path file(File root, String path, String content) throws IOException {
+		Path file = root.toPath().resolve(path);
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, content);
+	}
+
+}
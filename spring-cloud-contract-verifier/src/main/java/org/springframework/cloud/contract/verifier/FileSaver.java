@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,8 +46,14 @@ class FileSaver {
 	}
 
 	public void saveClassFile(Path classPath, byte[] classBytes) {
-		log.info("Creating new class file [{}]", classPath);
 		try {
+			// don't touch unchanged files so that the compilation stays incremental
+			if (Files.isRegularFile(classPath) && Files.size(classPath) == classBytes.length
+					&& Arrays.equals(Files.readAllBytes(classPath), classBytes)) {
+				log.info("Class file [{}] is up to date", classPath);
+				return;
+			}
+			log.info("Creating new class file [{}]", classPath);
 			Files.write(classPath, classBytes, CREATE, TRUNCATE_EXISTING);
 		}
 		catch (IOException e) {
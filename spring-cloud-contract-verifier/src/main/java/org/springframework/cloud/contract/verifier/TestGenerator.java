@@ -19,13 +19,17 @@ package org.springframework.cloud.contract.verifier;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -38,6 +42,7 @@ import org.springframework.cloud.contract.verifier.builder.SingleTestGenerator;
 import org.springframework.cloud.contract.verifier.config.ContractVerifierConfigProperties;
 import org.springframework.cloud.contract.verifier.file.ContractFileScanner;
 import org.springframework.cloud.contract.verifier.file.ContractMetadata;
+import org.springframework.cloud.contract.verifier.util.ParallelUtils;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.MultiValueMap;
 
@@ -63,6 +68,8 @@ public class TestGenerator {
 
 	private final AtomicInteger counter = new AtomicInteger();
 
+	private final Map<Path, Path> generatedClasses = Collections.synchronizedMap(new HashMap<>());
+
 	private final SingleTestGenerator generator;
 
 	private final FileSaver saver;
@@ -74,6 +81,19 @@ public class TestGenerator {
 				configProperties.getTestFramework().getClassExtension()));
 	}
 
+	/**
+	 * @param configProperties configuration
+	 * @param contractDirectories directories of contracts for which test classes should
+	 * be generated
+	 * @since 5.0.0
+	 */
+	public TestGenerator(ContractVerifierConfigProperties configProperties, Predicate<Path> contractDirectories) {
+		this(configProperties, singleTestGenerator(),
+				new FileSaver(configProperties.getGeneratedTestSourcesDir(),
+						configProperties.getTestFramework().getClassExtension()),
+				contractFileScanner(configProperties, contractDirectories));
+	}
+
 	private static SingleTestGenerator singleTestGenerator() {
 		List<SingleTestGenerator> factories = SpringFactoriesLoader.loadFactories(SingleTestGenerator.class, null);
 		if (factories.isEmpty()) {
@@ -84,14 +104,22 @@ public class TestGenerator {
 
 	public TestGenerator(ContractVerifierConfigProperties configProperties, SingleTestGenerator generator,
 			FileSaver saver) {
-		this(configProperties, generator, saver,
-				ContractFileScanner.builder()
-					.baseDir(configProperties.getContractsDslDir())
-					.excluded(toSet(configProperties.getExcludedFiles()))
-					.ignored(toSet(configProperties.getIgnoredFiles()))
-					.included(toSet(configProperties.getIncludedFiles()))
-					.includeMatcher(configProperties.getIncludedContracts())
-					.build());
+		this(configProperties, generator, saver, contractFileScanner(configProperties, null));
+	}
+
+	private static ContractFileScanner contractFileScanner(ContractVerifierConfigProperties configProperties,
+			Predicate<Path> contractDirectories) {
+		return ContractFileScanner.builder()
+			.baseDir(configProperties.getContractsDslDir())
+			.excluded(toSet(configProperties.getExcludedFiles()))
+			.ignored(toSet(configProperties.getIgnoredFiles()))
+			.included(toSet(configProperties.getIncludedFiles()))
+			.includeMatcher(configProperties.getIncludedContracts())
+			.parallelism(configProperties.getParallelism())
+			.directories(contractDirectories)
+			.cacheDirectory(configProperties.getContractsCacheDir())
+			.compiledContractsCacheDir(configProperties.getCompiledContractsCacheDir())
+			.build();
 	}
 
 	private static Set<String> toSet(List<String> files) {
@@ -118,6 +146,14 @@ public class TestGenerator {
 		return counter.get();
 	}
 
+	/**
+	 * @return generated test class files per directory of contracts
+	 * @since 5.0.0
+	 */
+	public Map<Path, Path> getGeneratedClasses() {
+		return this.generatedClasses;
+	}
+
 	private String basePackageName() {
 		if (StringUtils.isNotEmpty(configProperties.getBasePackageForTests())) {
 			return configProperties.getBasePackageForTests();
@@ -155,10 +191,18 @@ public class TestGenerator {
 	}
 
 	void processAll(MultiValueMap<Path, ContractMetadata> contracts, final String basePackageName) {
-		contracts.entrySet()
-			.stream()
-			.forEach(entry -> processIncludedDirectory(relativizeContractPath(entry), entry.getValue(),
-					basePackageName));
+		int parallelism = configProperties.getParallelism();
+		if (parallelism > 1 && contracts.size() > 1) {
+			log.debug("Will generate tests for [{}] directories with parallelism [{}]", contracts.size(),
+					parallelism);
+		}
+		// class names depend only on the directories, so the order of processing doesn't
+		// matter
+		ParallelUtils.map(new ArrayList<>(contracts.entrySet()), parallelism, entry -> {
+			processIncludedDirectory(entry.getKey(), relativizeContractPath(entry), entry.getValue(),
+					basePackageName);
+			return entry.getKey();
+		});
 	}
 
 	private String relativizeContractPath(Map.Entry<Path, List<ContractMetadata>> entry) {
@@ -166,7 +210,7 @@ public class TestGenerator {
 		return StringUtils.defaultIfEmpty(relativePath.toString(), DEFAULT_CLASS_PREFIX);
 	}
 
-	private void processIncludedDirectory(final String includedDirectoryRelativePath,
+	private void processIncludedDirectory(final Path includedDirectory, final String includedDirectoryRelativePath,
 			final Collection<ContractMetadata> contracts, final String basePackageNameForClass) {
 		log.debug("Collected contracts with metadata {} relative path is [{}]", contracts,
 				includedDirectoryRelativePath);
@@ -182,6 +226,7 @@ public class TestGenerator {
 						new SingleTestGenerator.GeneratedClassData(convertedClassName, packageName, classPath))
 				.getBytes(StandardCharsets.UTF_8);
 			saver.saveClassFile(classPath, classBytes);
+			generatedClasses.put(includedDirectory, classPath);
 			counter.incrementAndGet();
 		}
 	}
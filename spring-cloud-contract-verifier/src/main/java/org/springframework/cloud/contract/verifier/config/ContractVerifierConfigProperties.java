@@ -175,6 +175,27 @@ public class ContractVerifierConfigProperties {
 	 */
 	private boolean failOnInProgress = true;
 
+	/**
+	 * Max number of contract directories for which tests are generated at the same time.
+	 * Defaults to {@code 1}, which means that the tests are generated sequentially.
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * Directory where contracts evaluated from DSL files (e.g. Groovy) are stored as
+	 * YAML, so that other goals or tasks of the build don't evaluate them again. Not set
+	 * by default, which means that the contracts are evaluated each time. All entries get
+	 * invalidated when any file of the contracts directory or of the classpath changes.
+	 */
+	private File contractsCacheDir;
+
+	/**
+	 * Directory where the bytecode of compiled Groovy contracts is stored, so that
+	 * subsequent builds don't compile the unchanged contracts again. Not set by default,
+	 * which means that the contracts are compiled in each build.
+	 */
+	private File compiledContractsCacheDir;
+
 	public TestFramework getTestFramework() {
 		return testFramework;
 	}
@@ -363,4 +384,28 @@ public class ContractVerifierConfigProperties {
 		this.failOnInProgress = failOnInProgress;
 	}
 
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public File getContractsCacheDir() {
+		return this.contractsCacheDir;
+	}
+
+	public void setContractsCacheDir(File contractsCacheDir) {
+		this.contractsCacheDir = contractsCacheDir;
+	}
+
+	public File getCompiledContractsCacheDir() {
+		return this.compiledContractsCacheDir;
+	}
+
+	public void setCompiledContractsCacheDir(File compiledContractsCacheDir) {
+		this.compiledContractsCacheDir = compiledContractsCacheDir;
+	}
+
 }
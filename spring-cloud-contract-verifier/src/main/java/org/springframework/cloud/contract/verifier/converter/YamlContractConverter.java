@@ -16,10 +16,14 @@
 
 package org.springframework.cloud.contract.verifier.converter;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -46,19 +50,32 @@ public class YamlContractConverter implements ContractConverter<List<YamlContrac
 
 	public static final YamlContractConverter INSTANCE = new YamlContractConverter();
 
+	private static final int MAX_ACCEPTED_CONTRACTS = 256;
+
 	private final YAMLMapper mapper = new YAMLMapper();
 
 	private final YamlToContracts yamlToContracts = new YamlToContracts();
 
 	private final ContractsToYaml contractsToYaml = new ContractsToYaml();
 
+	/**
+	 * Contracts parsed while checking if a file is accepted. They get handed over to the
+	 * subsequent {@link #convertFrom(File)} call, so that the file is not parsed twice.
+	 */
+	private final Map<ParsedFile, Collection<Contract>> acceptedContracts = Collections
+		.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ParsedFile, Collection<Contract>> eldest) {
+				return size() > MAX_ACCEPTED_CONTRACTS;
+			}
+		});
+
 	@Override
 	public boolean isAccepted(File file) {
-		String name = file.getName();
-		boolean acceptFile = name.endsWith(".yml") || name.endsWith(".yaml");
+		boolean acceptFile = isYaml(file);
 		if (acceptFile) {
 			try {
-				this.yamlToContracts.convertFrom(file);
+				this.acceptedContracts.put(new ParsedFile(file), this.yamlToContracts.convertFrom(file));
 			}
 			catch (Exception e) {
 				log.warn("Error Processing yaml file. Skipping Contract Generation ", e);
@@ -68,11 +85,39 @@ public class YamlContractConverter implements ContractConverter<List<YamlContrac
 		return acceptFile;
 	}
 
+	/**
+	 * @param file file to check
+	 * @return {@code true} when the file has a YAML extension, without parsing it
+	 * @since 5.0.0
+	 */
+	public boolean isYaml(File file) {
+		String name = file.getName();
+		return name.endsWith(".yml") || name.endsWith(".yaml");
+	}
+
 	@Override
 	public Collection<Contract> convertFrom(File file) {
+		// contracts are mutable, hand them over only once
+		Collection<Contract> contracts = this.acceptedContracts.remove(new ParsedFile(file));
+		if (contracts != null) {
+			return contracts;
+		}
 		return this.yamlToContracts.convertFrom(file);
 	}
 
+	/**
+	 * Converts YAML contracts that were created from the given contract file (e.g. a
+	 * stored conversion of a Groovy DSL contract). Files referenced by the contracts are
+	 * resolved against the directory of the contract file.
+	 * @param contractFile contract file from which the YAML contracts were created
+	 * @param yaml YAML contracts
+	 * @return converted contracts
+	 * @since 5.0.0
+	 */
+	public Collection<Contract> convertFrom(File contractFile, byte[] yaml) {
+		return this.yamlToContracts.convertFrom(contractFile, new ByteArrayInputStream(yaml));
+	}
+
 	@Override
 	public List<YamlContract> convertTo(Collection<Contract> contracts) {
 		return this.contractsToYaml.convertTo(contracts);
@@ -102,4 +147,42 @@ public class YamlContractConverter implements ContractConverter<List<YamlContrac
 
 	}
 
+	/**
+	 * A file together with its modification time and size, so that a file modified in
+	 * the meantime is parsed again.
+	 */
+	private static final class ParsedFile {
+
+		private final File file;
+
+		private final long lastModified;
+
+		private final long length;
+
+		private ParsedFile(File file) {
+			this.file = file.getAbsoluteFile();
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			ParsedFile that = (ParsedFile) o;
+			return this.lastModified == that.lastModified && this.length == that.length
+					&& Objects.equals(this.file, that.file);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.file, this.lastModified, this.length);
+		}
+
+	}
+
 }
@@ -19,6 +19,7 @@ package org.springframework.cloud.contract.verifier.converter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -74,25 +75,40 @@ import static org.springframework.cloud.contract.verifier.util.ContentUtils.eval
  */
 class YamlToContracts {
 
+	private static final YAMLMapper MAPPER = YAMLMapper.builder()
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
+		.build();
+
 	Collection<Contract> convertFrom(File contractFile) {
+		try (InputStream stream = Files.newInputStream(contractFile.toPath())) {
+			return convertFrom(contractFile, stream);
+		}
+		catch (FileNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Exception occurred while processing the file [" + contractFile + "]", e);
+		}
+	}
+
+	/**
+	 * @param contractFile file against which relative file references are resolved
+	 * @param stream YAML contents
+	 * @return converted contracts
+	 */
+	Collection<Contract> convertFrom(File contractFile, InputStream stream) {
 		ClassLoader classLoader = YamlContractConverter.class.getClassLoader();
-		YAMLMapper mapper = YAMLMapper.builder()
-			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
-			.build();
 		try {
-			Iterable<Object> iterables = new Yaml().loadAll(Files.newInputStream(contractFile.toPath()));
+			Iterable<Object> iterables = new Yaml().loadAll(stream);
 			Collection<Contract> contracts = new ArrayList<>();
 			int counter = 0;
 			for (Object document : iterables) {
-				List<Contract> processedYaml = processYaml(counter, document, mapper, classLoader, contractFile);
+				List<Contract> processedYaml = processYaml(counter, document, MAPPER, classLoader, contractFile);
 				contracts.addAll(processedYaml);
 				counter = counter + 1;
 			}
 			return contracts;
 		}
-		catch (FileNotFoundException e) {
-			throw new IllegalStateException(e);
-		}
 		catch (IllegalStateException ise) {
 			throw ise;
 		}
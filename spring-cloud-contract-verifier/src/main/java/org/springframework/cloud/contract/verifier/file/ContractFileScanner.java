@@ -21,13 +21,19 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -35,8 +41,10 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.cloud.contract.spec.Contract;
 import org.springframework.cloud.contract.spec.ContractConverter;
+import org.springframework.cloud.contract.spec.DirectoryContractConverter;
 import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
 import org.springframework.cloud.contract.verifier.util.ContractVerifierDslConverter;
+import org.springframework.cloud.contract.verifier.util.ParallelUtils;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
@@ -74,13 +82,34 @@ public class ContractFileScanner {
 
 	private final String includeMatcher;
 
+	private final int parallelism;
+
+	private final Predicate<Path> directories;
+
+	private final ContractsCache cache;
+
+	private final File compiledContractsCacheDir;
+
 	public ContractFileScanner(File baseDir, Set<String> excluded, Set<String> ignored, Set<String> included,
 			String includeMatcher) {
-		this.baseDir = baseDir;
-		this.excludeMatchers = processPatterns(excluded != null ? excluded : Collections.emptySet());
-		this.ignoreMatchers = processPatterns(ignored != null ? ignored : Collections.emptySet());
-		this.includeMatchers = processPatterns(included != null ? included : Collections.emptySet());
-		this.includeMatcher = includeMatcher != null ? includeMatcher : "";
+		this(builder().baseDir(baseDir)
+			.excluded(excluded)
+			.ignored(ignored)
+			.included(included)
+			.includeMatcher(includeMatcher));
+	}
+
+	private ContractFileScanner(Builder builder) {
+		this.baseDir = builder.baseDir;
+		this.excludeMatchers = processPatterns(builder.excluded != null ? builder.excluded : Collections.emptySet());
+		this.ignoreMatchers = processPatterns(builder.ignored != null ? builder.ignored : Collections.emptySet());
+		this.includeMatchers = processPatterns(builder.included != null ? builder.included : Collections.emptySet());
+		this.includeMatcher = builder.includeMatcher != null ? builder.includeMatcher : "";
+		this.parallelism = Math.max(1, builder.parallelism);
+		this.directories = builder.directories != null ? builder.directories : path -> true;
+		this.cache = builder.cacheDirectory != null && builder.baseDir != null
+				? new ContractsCache(builder.cacheDirectory, builder.baseDir) : null;
+		this.compiledContractsCacheDir = builder.compiledContractsCacheDir;
 	}
 
 	private Set<PathMatcher> processPatterns(Set<String> patterns) {
@@ -98,20 +127,35 @@ public class ContractFileScanner {
 	}
 
 	public MultiValueMap<Path, ContractMetadata> findContractsRecursively() {
+		List<ContractConverter> converters = convertersWithYml();
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Found the following contract converters " + converters);
+		}
+		// helper classes of the contracts could have changed since the previous scan
+		ContractVerifierDslConverter.refreshSourcesHashes();
+		List<CandidateFile> candidates = new ArrayList<>();
+		appendRecursively(baseDir, candidates);
+		candidates.removeIf(candidate -> !this.directories.test(candidate.file.getParentFile().toPath()));
+		List<Collection<Contract>> convertedContracts = convert(converters, candidates);
 		MultiValueMap<Path, ContractMetadata> result = CollectionUtils.toMultiValueMap(new LinkedHashMap<>());
-		appendRecursively(baseDir, result);
+		for (int i = 0; i < candidates.size(); i++) {
+			Collection<Contract> contracts = convertedContracts.get(i);
+			if (contracts != null) {
+				addContractToTestGeneration(result, candidates.get(i), contracts);
+			}
+			else if (LOG.isDebugEnabled()) {
+				LOG.debug("File [" + candidates.get(i).file + "] wasn't ignored but no converter was applicable");
+			}
+		}
 		return result;
 	}
 
 	/**
-	 * We iterate over found contracts, filter out those that should be excluded and try
-	 * to convert via pluggable Contract Converters any possible contracts.
+	 * We iterate over found contracts, filter out those that should be excluded and
+	 * collect the files that could be converted via pluggable Contract Converters. The
+	 * files are collected in a sorted, depth first order.
 	 */
-	private void appendRecursively(File baseDir, MultiValueMap<Path, ContractMetadata> result) {
-		List<ContractConverter> converters = convertersWithYml();
-		if (LOG.isTraceEnabled()) {
-			LOG.trace("Found the following contract converters " + converters);
-		}
+	private void appendRecursively(File baseDir, List<CandidateFile> candidates) {
 		File[] files = baseDir.listFiles();
 		if (files == null) {
 			return;
@@ -125,15 +169,11 @@ public class ContractFileScanner {
 				boolean included = !StringUtils.hasText(includeMatcher)
 						|| file.getAbsolutePath().matches(includeMatcher);
 				included = !CollectionUtils.isEmpty(includeMatchers) ? matchesPattern(file, includeMatchers) : included;
-				if (contractFile && included) {
-					addContractToTestGeneration(result, files, file, i,
-							ContractVerifierDslConverter.convertAsCollection(baseDir, file));
-				}
-				if (!contractFile && included) {
-					addContractToTestGeneration(converters, result, files, file, i);
+				if (included && !file.isDirectory()) {
+					candidates.add(new CandidateFile(baseDir, file, files.length, i, contractFile));
 				}
 				else {
-					appendRecursively(file, result);
+					appendRecursively(file, candidates);
 					if (LOG.isDebugEnabled()) {
 						LOG.debug("File [" + file + "] is ignored. Is a contract file? [" + contractFile
 								+ "]. Should be included by pattern? [" + included + "]");
@@ -148,6 +188,48 @@ public class ContractFileScanner {
 		}
 	}
 
+	/**
+	 * Converts the candidate files. Conversion is independent per file, so with
+	 * parallelism greater than 1 files get converted in a fork join pool. Results are
+	 * returned in the order of the candidates, regardless of the parallelism.
+	 */
+	private List<Collection<Contract>> convert(List<ContractConverter> converters, List<CandidateFile> candidates) {
+		if (this.parallelism > 1 && candidates.size() > 1 && LOG.isDebugEnabled()) {
+			LOG.debug("Will convert [" + candidates.size() + "] files with parallelism [" + this.parallelism + "]");
+		}
+		DirectoryConversions directoryConversions = new DirectoryConversions(candidates);
+		return ParallelUtils.map(candidates, this.parallelism,
+				candidate -> convert(converters, directoryConversions, candidate));
+	}
+
+	private Collection<Contract> convert(List<ContractConverter> converters, DirectoryConversions directoryConversions,
+			CandidateFile candidate) {
+		// parsing YAML is as expensive as reading it from the cache
+		if (this.cache != null && !YamlContractConverter.INSTANCE.isYaml(candidate.file)) {
+			return this.cache.get(candidate.file, () -> evaluate(converters, directoryConversions, candidate));
+		}
+		return evaluate(converters, directoryConversions, candidate);
+	}
+
+	private Collection<Contract> evaluate(List<ContractConverter> converters, DirectoryConversions directoryConversions,
+			CandidateFile candidate) {
+		if (candidate.contractFile) {
+			return ContractVerifierDslConverter.convertAsCollection(this.baseDir, candidate.baseDir, candidate.file,
+					this.compiledContractsCacheDir);
+		}
+		for (ContractConverter converter : converters) {
+			if (converter instanceof DirectoryContractConverter<?> directoryConverter
+					&& directoryConverter.isAccepted(candidate.file)) {
+				return directoryConversions.convert(directoryConverter, candidate.file);
+			}
+			Collection<Contract> contracts = tryConvert(converter, candidate.file);
+			if (contracts != null) {
+				return contracts;
+			}
+		}
+		return null;
+	}
+
 	protected List<ContractConverter> convertersWithYml() {
 		List<ContractConverter> converters = converters();
 		converters.add(ContractVerifierDslConverter.INSTANCE);
@@ -159,29 +241,6 @@ public class ContractFileScanner {
 		return SpringFactoriesLoader.loadFactories(ContractConverter.class, null);
 	}
 
-	private void addContractToTestGeneration(List<ContractConverter> converters,
-			MultiValueMap<Path, ContractMetadata> result, File[] files, File file, int index) {
-		boolean converted = false;
-		if (!file.isDirectory()) {
-			for (ContractConverter converter : converters) {
-				Collection<Contract> contracts = tryConvert(converter, file);
-				if (contracts != null) {
-					addContractToTestGeneration(result, files, file, index, contracts);
-					converted = true;
-					break;
-				}
-			}
-		}
-		if (!converted) {
-			appendRecursively(file, result);
-			if (LOG.isDebugEnabled()) {
-				LOG.debug(
-						"File [" + file + "] wasn't ignored but no converter was applicable. The file is a directory ["
-								+ file.isDirectory() + "]");
-			}
-		}
-	}
-
 	private Collection<Contract> tryConvert(ContractConverter converter, File file) {
 		boolean accepted = converter.isAccepted(file);
 		if (!accepted) {
@@ -195,16 +254,17 @@ public class ContractFileScanner {
 		}
 	}
 
-	private void addContractToTestGeneration(MultiValueMap<Path, ContractMetadata> result, File[] files, File file,
-			int index, Collection<Contract> convertedContract) {
+	private void addContractToTestGeneration(MultiValueMap<Path, ContractMetadata> result, CandidateFile candidate,
+			Collection<Contract> convertedContract) {
+		File file = candidate.file;
 		Path path = file.toPath();
 		Integer order = null;
 		if (hasScenarioFilenamePattern(path)) {
-			order = index;
+			order = candidate.index;
 		}
 		Path parent = file.getParentFile().toPath();
-		ContractMetadata metadata = new ContractMetadata(path, matchesPattern(file, ignoreMatchers), files.length,
-				order, convertedContract);
+		ContractMetadata metadata = new ContractMetadata(path, matchesPattern(file, ignoreMatchers),
+				candidate.siblingsCount, order, convertedContract);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Creating a contract entry for path [" + path + "] and metadata [" + metadata + "]");
 		}
@@ -253,6 +313,79 @@ public class ContractFileScanner {
 		return osName.startsWith(osNamePrefix);
 	}
 
+	/**
+	 * File that could be converted into contracts.
+	 */
+	private static final class CandidateFile {
+
+		private final File baseDir;
+
+		private final File file;
+
+		private final int siblingsCount;
+
+		private final int index;
+
+		private final boolean contractFile;
+
+		private CandidateFile(File baseDir, File file, int siblingsCount, int index, boolean contractFile) {
+			this.baseDir = baseDir;
+			this.file = file;
+			this.siblingsCount = siblingsCount;
+			this.index = index;
+			this.contractFile = contractFile;
+		}
+
+	}
+
+	/**
+	 * Converts all files of a directory accepted by a {@link DirectoryContractConverter}
+	 * at once, when the first of them gets converted during a scan.
+	 */
+	private static final class DirectoryConversions {
+
+		private final List<CandidateFile> candidates;
+
+		private final Map<List<Object>, FutureTask<Map<File, Collection<Contract>>>> conversions;
+
+		private DirectoryConversions(List<CandidateFile> candidates) {
+			this.candidates = candidates;
+			this.conversions = new ConcurrentHashMap<>();
+		}
+
+		private Collection<Contract> convert(DirectoryContractConverter<?> converter, File file) {
+			File directory = file.getParentFile();
+			FutureTask<Map<File, Collection<Contract>>> conversion = new FutureTask<>(
+					() -> converter.convertFrom(filesOf(converter, directory)));
+			FutureTask<Map<File, Collection<Contract>>> existing = this.conversions
+				.putIfAbsent(List.of(converter, directory), conversion);
+			if (existing == null) {
+				conversion.run();
+				existing = conversion;
+			}
+			try {
+				return existing.get().get(file);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			catch (ExecutionException e) {
+				throw new IllegalStateException("Failed to convert files of directory [" + directory + "]",
+						e.getCause());
+			}
+		}
+
+		private List<File> filesOf(DirectoryContractConverter<?> converter, File directory) {
+			return this.candidates.stream()
+				.filter(candidate -> !candidate.contractFile && directory.equals(candidate.file.getParentFile()))
+				.map(candidate -> candidate.file)
+				.filter(converter::isAccepted)
+				.toList();
+		}
+
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -269,6 +402,14 @@ public class ContractFileScanner {
 
 		private String includeMatcher = "";
 
+		private int parallelism = 1;
+
+		private Predicate<Path> directories;
+
+		private File cacheDirectory;
+
+		private File compiledContractsCacheDir;
+
 		public Builder baseDir(File baseDir) {
 			this.baseDir = baseDir;
 			return this;
@@ -294,9 +435,50 @@ public class ContractFileScanner {
 			return this;
 		}
 
+		/**
+		 * @param parallelism max number of files converted at the same time
+		 * @return builder
+		 * @since 5.0.0
+		 */
+		public Builder parallelism(int parallelism) {
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * @param directories directories from which contracts should be converted
+		 * @return builder
+		 * @since 5.0.0
+		 */
+		public Builder directories(Predicate<Path> directories) {
+			this.directories = directories;
+			return this;
+		}
+
+		/**
+		 * @param cacheDirectory directory where evaluated DSL contracts are stored, so
+		 * that other scans (e.g. in another goal of the build) can reuse them
+		 * @return builder
+		 * @since 5.0.0
+		 */
+		public Builder cacheDirectory(File cacheDirectory) {
+			this.cacheDirectory = cacheDirectory;
+			return this;
+		}
+
+		/**
+		 * @param compiledContractsCacheDir directory where compiled Groovy contracts are
+		 * stored, so that subsequent builds don't compile the unchanged ones again
+		 * @return builder
+		 * @since 5.0.0
+		 */
+		public Builder compiledContractsCacheDir(File compiledContractsCacheDir) {
+			this.compiledContractsCacheDir = compiledContractsCacheDir;
+			return this;
+		}
+
 		public ContractFileScanner build() {
-			return new ContractFileScanner(this.baseDir, this.excluded, this.ignored, this.included,
-					this.includeMatcher);
+			return new ContractFileScanner(this);
 		}
 
 	}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.dataformat.yaml.YAMLMapper;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.verifier.converter.YamlContractConverter;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Stores contracts evaluated from DSL files (e.g. Groovy, Java or Kotlin) as YAML, so
+ * that the goals or tasks of a build that read the same contracts don't have to evaluate
+ * the DSLs again. Contracts can reference any file of the contracts directory (e.g.
+ * bodies or helper classes from other directories) and classes from the classpath. That's
+ * why the entries are stored per state of the contracts directory and of the classpath,
+ * and a change of any of those files invalidates all entries. Goals or tasks with
+ * different classpaths store their entries separately. Entries of the previous states of
+ * the same contracts directory and classpath get deleted when a new state gets stored.
+ * Contracts that can't be read back from YAML unchanged (e.g. with regular expressions in
+ * bodies) are not cached.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class ContractsCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContractsCache.class);
+
+	private static final String STAGING_PREFIX = ".staging-";
+
+	private static final String VERSION = String.valueOf(ContractsCache.class.getPackage().getImplementationVersion());
+
+	private final YAMLMapper mapper = new YAMLMapper();
+
+	private final Path directory;
+
+	private final Path contractsDirectory;
+
+	private final AtomicBoolean evicted = new AtomicBoolean();
+
+	private volatile Path stateDirectory;
+
+	/**
+	 * @param directory directory where the entries are stored
+	 * @param contractsDirectory directory with all contracts and the files they reference
+	 */
+	ContractsCache(File directory, File contractsDirectory) {
+		this.directory = directory.toPath();
+		this.contractsDirectory = contractsDirectory.toPath().toAbsolutePath();
+	}
+
+	/**
+	 * @param contractFile contract file
+	 * @param converter evaluates the contract file on cache miss
+	 * @return contracts from the cache or evaluated ones
+	 */
+	Collection<Contract> get(File contractFile, Supplier<Collection<Contract>> converter) {
+		Path entry;
+		try {
+			entry = stateDirectory().resolve(hash((VERSION + "\n" + contractFile.getAbsolutePath())
+				.getBytes(StandardCharsets.UTF_8)) + ".yml");
+		}
+		catch (IOException | UncheckedIOException ex) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Failed to compute the cache key of [" + contractFile + "]", ex);
+			}
+			return converter.get();
+		}
+		if (Files.isRegularFile(entry)) {
+			try {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Reading contracts of [" + contractFile + "] from [" + entry + "]");
+				}
+				return YamlContractConverter.INSTANCE.convertFrom(contractFile, Files.readAllBytes(entry));
+			}
+			catch (Exception ex) {
+				LOG.warn("Failed to read cached contracts of [" + contractFile + "], will evaluate them again", ex);
+			}
+		}
+		Collection<Contract> contracts = converter.get();
+		if (contracts != null) {
+			store(contractFile, entry, contracts);
+		}
+		return contracts;
+	}
+
+	private void store(File contractFile, Path entry, Collection<Contract> contracts) {
+		evictPreviousStates(entry.getParent());
+		Path staging = entry.resolveSibling(STAGING_PREFIX + UUID.randomUUID());
+		try {
+			byte[] yaml = this.mapper.writeValueAsBytes(YamlContractConverter.INSTANCE.convertTo(contracts));
+			if (!sameContracts(contracts, YamlContractConverter.INSTANCE.convertFrom(contractFile, yaml))) {
+				// e.g. regular expressions in bodies are read back as body matchers, such
+				// contracts get evaluated each time
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Contracts of [" + contractFile
+							+ "] are not the same when read back from YAML, will not cache them");
+				}
+				return;
+			}
+			Files.createDirectories(entry.getParent());
+			Files.write(staging, yaml);
+			Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (Exception ex) {
+			// not every contract can be represented as YAML, such contracts get
+			// evaluated each time
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Failed to cache contracts of [" + contractFile + "]", ex);
+			}
+		}
+		finally {
+			deleteQuietly(staging);
+		}
+	}
+
+	private static boolean sameContracts(Collection<Contract> evaluated, Collection<Contract> read) {
+		if (evaluated.size() != read.size()) {
+			return false;
+		}
+		Iterator<Contract> iterator = read.iterator();
+		for (Contract contract : evaluated) {
+			Contract other = iterator.next();
+			if (!contract.equals(other) || contract.isInProgress() != other.isInProgress()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Directory of the entries for the current state of the contracts directory and of the
+	 * classpath. Both get hashed only once per cache.
+	 */
+	private Path stateDirectory() throws IOException {
+		Path state = this.stateDirectory;
+		if (state == null) {
+			synchronized (this) {
+				state = this.stateDirectory;
+				if (state == null) {
+					Set<Path> classpath = classpath();
+					MessageDigest digest = sha256();
+					digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+					hashContents(this.contractsDirectory, digest);
+					for (Path entry : classpath) {
+						hashMetadata(entry, digest);
+					}
+					state = namespace(classpath).resolve(HexFormat.of().formatHex(digest.digest()));
+					this.stateDirectory = state;
+				}
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Directory of the states of the contracts directory read with the given classpath.
+	 * Goals or tasks with different classpaths don't evict the entries of each other.
+	 */
+	private Path namespace(Set<Path> classpath) {
+		StringBuilder key = new StringBuilder(this.contractsDirectory.toString());
+		for (Path entry : classpath) {
+			key.append(File.pathSeparator).append(entry);
+		}
+		return this.directory.resolve(hash(key.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16));
+	}
+
+	/**
+	 * Entries of the previous states of the contracts directory and classpath won't be
+	 * read again.
+	 */
+	private void evictPreviousStates(Path state) {
+		if (!this.evicted.compareAndSet(false, true)) {
+			return;
+		}
+		File[] states = state.getParent().toFile().listFiles(File::isDirectory);
+		if (states == null) {
+			return;
+		}
+		for (File previous : states) {
+			if (!previous.toPath().equals(state)) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Deleting cached contracts of a previous state [" + previous + "]");
+				}
+				FileSystemUtils.deleteRecursively(previous);
+			}
+		}
+	}
+
+	private static void hashContents(Path directory, MessageDigest digest) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+				digest.update(directory.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(sha256().digest(Files.readAllBytes(file)));
+			}
+		}
+	}
+
+	/**
+	 * Classpath entries are large, so only their sizes and modification times are hashed.
+	 */
+	private static void hashMetadata(Path classpathEntry, MessageDigest digest) throws IOException {
+		if (!Files.exists(classpathEntry)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(classpathEntry)) {
+			for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+				digest.update((file + "\n" + Files.size(file) + "\n" + Files.getLastModifiedTime(file).toMillis())
+					.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private static Set<Path> classpath() {
+		Set<Path> classpath = new LinkedHashSet<>();
+		for (ClassLoader classLoader = Thread.currentThread().getContextClassLoader(); classLoader != null;
+				classLoader = classLoader.getParent()) {
+			if (classLoader instanceof URLClassLoader urlClassLoader) {
+				for (URL url : urlClassLoader.getURLs()) {
+					if ("file".equals(url.getProtocol())) {
+						try {
+							classpath.add(Paths.get(url.toURI()));
+						}
+						catch (URISyntaxException | IllegalArgumentException ex) {
+							classpath.add(Paths.get(url.getPath()));
+						}
+					}
+				}
+			}
+		}
+		String javaClassPath = System.getProperty("java.class.path", "");
+		for (String entry : javaClassPath.split(File.pathSeparator)) {
+			if (!entry.isEmpty()) {
+				classpath.add(Paths.get(entry).toAbsolutePath());
+			}
+		}
+		return classpath;
+	}
+
+	private static void deleteQuietly(Path file) {
+		// the staging file is left over only when it couldn't be moved
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Failed to delete [" + file + "]", ex);
+			}
+		}
+	}
+
+	private static String hash(byte[] bytes) {
+		return HexFormat.of().formatHex(sha256().digest(bytes));
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
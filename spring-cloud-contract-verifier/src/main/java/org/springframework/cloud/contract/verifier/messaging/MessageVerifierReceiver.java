@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.contract.verifier.messaging;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.jspecify.annotations.Nullable;
@@ -74,4 +76,48 @@ public interface MessageVerifierReceiver<M> {
 	 */
 	M receive(String destination, YamlContract contract);
 
+	/**
+	 * Receives up to {@code count} messages from the given destination. The timeout
+	 * applies to all the messages, not to each of them.
+	 * @param destination destination from which the messages will be received
+	 * @param count max number of messages to receive
+	 * @param timeout timeout to wait for all the messages
+	 * @param timeUnit param to define the unit of timeout
+	 * @return received messages, fewer than {@code count} if the timeout elapsed
+	 * @since 5.0.0
+	 */
+	default List<M> receiveAll(String destination, int count, long timeout, TimeUnit timeUnit) {
+		return receiveAll(destination, count, timeout, timeUnit, null);
+	}
+
+	/**
+	 * Receives up to {@code count} messages from the given destination. The timeout
+	 * applies to all the messages, not to each of them.
+	 * @param destination destination from which the messages will be received
+	 * @param count max number of messages to receive
+	 * @param timeout timeout to wait for all the messages
+	 * @param timeUnit param to define the unit of timeout
+	 * @param contract contract related to this method
+	 * @return received messages, fewer than {@code count} if the timeout elapsed
+	 * @since 5.0.0
+	 */
+	default List<M> receiveAll(String destination, int count, long timeout, TimeUnit timeUnit,
+			@Nullable YamlContract contract) {
+		List<M> messages = new ArrayList<>(count);
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		while (messages.size() < count) {
+			// some implementations treat a zero timeout as an infinite one
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				break;
+			}
+			M message = receive(destination, remainingMillis, TimeUnit.MILLISECONDS, contract);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 }
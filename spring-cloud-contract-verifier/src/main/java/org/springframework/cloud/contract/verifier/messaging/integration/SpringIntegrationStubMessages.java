@@ -17,6 +17,7 @@
 package org.springframework.cloud.contract.verifier.messaging.integration;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
@@ -42,6 +43,13 @@ public class SpringIntegrationStubMessages
 
 	private final ContractVerifierIntegrationMessageBuilder builder = new ContractVerifierIntegrationMessageBuilder();
 
+	/**
+	 * Channels looked up by their names, so that the context isn't queried per message.
+	 */
+	private final Map<String, MessageChannel> channels = new ConcurrentHashMap<>();
+
+	private final Map<String, PollableChannel> pollableChannels = new ConcurrentHashMap<>();
+
 	public SpringIntegrationStubMessages(ApplicationContext context) {
 		this.context = context;
 	}
@@ -54,7 +62,8 @@ public class SpringIntegrationStubMessages
 	@Override
 	public void send(Message<?> message, String destination, YamlContract contract) {
 		try {
-			MessageChannel messageChannel = this.context.getBean(destination, MessageChannel.class);
+			MessageChannel messageChannel = this.channels.computeIfAbsent(destination,
+					name -> this.context.getBean(name, MessageChannel.class));
 			messageChannel.send(message);
 		}
 		catch (Exception e) {
@@ -67,7 +76,8 @@ public class SpringIntegrationStubMessages
 	@Override
 	public Message<?> receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
 		try {
-			PollableChannel messageChannel = this.context.getBean(destination, PollableChannel.class);
+			PollableChannel messageChannel = this.pollableChannels.computeIfAbsent(destination,
+					name -> this.context.getBean(name, PollableChannel.class));
 			return messageChannel.receive(timeUnit.toMillis(timeout));
 		}
 		catch (Exception e) {
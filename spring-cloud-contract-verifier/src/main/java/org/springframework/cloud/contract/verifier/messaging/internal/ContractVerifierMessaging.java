@@ -16,7 +16,10 @@
 
 package org.springframework.cloud.contract.verifier.messaging.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -80,6 +83,22 @@ public class ContractVerifierMessaging<M> {
 		return receive(destination, null);
 	}
 
+	public List<ContractVerifierMessage> receiveAll(String destination, int count, long timeout, TimeUnit timeUnit,
+			@Nullable YamlContract contract) {
+		if (contract != null) {
+			setMessageType(contract, ContractVerifierMessageMetadata.MessageType.OUTPUT);
+		}
+		List<ContractVerifierMessage> messages = new ArrayList<>(count);
+		for (M message : this.receiver.receiveAll(destination, count, timeout, timeUnit, contract)) {
+			messages.add(convert(message));
+		}
+		return messages;
+	}
+
+	public List<ContractVerifierMessage> receiveAll(String destination, int count, long timeout, TimeUnit timeUnit) {
+		return receiveAll(destination, count, timeout, timeUnit, null);
+	}
+
 	public <T> ContractVerifierMessage create(T payload, Map<String, Object> headers) {
 		return new ContractVerifierMessage(payload, headers);
 	}
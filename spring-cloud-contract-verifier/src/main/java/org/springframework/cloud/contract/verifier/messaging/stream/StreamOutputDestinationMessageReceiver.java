@@ -33,6 +33,8 @@ class StreamOutputDestinationMessageReceiver implements MessageVerifierReceiver<
 
 	private final ApplicationContext context;
 
+	private volatile OutputDestination outputDestination;
+
 	StreamOutputDestinationMessageReceiver(ApplicationContext context) {
 		this.context = context;
 	}
@@ -40,8 +42,7 @@ class StreamOutputDestinationMessageReceiver implements MessageVerifierReceiver<
 	@Override
 	public Message<?> receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
 		try {
-			OutputDestination outputDestination = this.context.getBean(OutputDestination.class);
-			return outputDestination.receive(timeUnit.toMillis(timeout), destination);
+			return outputDestination().receive(timeUnit.toMillis(timeout), destination);
 		}
 		catch (Exception e) {
 			log.error("Exception occurred while trying to read a message from " + " a channel with name [" + destination
@@ -50,6 +51,15 @@ class StreamOutputDestinationMessageReceiver implements MessageVerifierReceiver<
 		}
 	}
 
+	private OutputDestination outputDestination() {
+		OutputDestination outputDestination = this.outputDestination;
+		if (outputDestination == null) {
+			outputDestination = this.context.getBean(OutputDestination.class);
+			this.outputDestination = outputDestination;
+		}
+		return outputDestination;
+	}
+
 	@Override
 	public Message<?> receive(String destination, YamlContract contract) {
 		return receive(destination, 5, TimeUnit.SECONDS, contract);
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent cache of compiled Groovy contracts. Each contract is compiled once and its
+ * bytecode is stored under a folder keyed by the hash of the contract's contents and file
+ * name. Unchanged contracts are then loaded from the cache instead of being recompiled in
+ * subsequent builds. Since a contract can reference any script or class of the contracts
+ * directory that is not a contract itself (e.g. a helper class), the entries are stored
+ * per state of those helper sources and the Groovy and Spring Cloud Contract versions. A
+ * change of any of them invalidates all entries of that contracts directory. Entries of
+ * previous states and previous compilations of a changed contract get deleted.
+ *
+ * The cache is enabled by setting the {@code compiledContractsCacheDir} property of the
+ * plugins, or the {@code spring.cloud.contract.verifier.dsl.cache-dir} system property.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class CompiledContractsCache {
+
+	/**
+	 * System property with the directory of the cache.
+	 */
+	static final String CACHE_DIR_SYSTEM_PROP = "spring.cloud.contract.verifier.dsl.cache-dir";
+
+	private static final Logger LOG = LoggerFactory.getLogger(CompiledContractsCache.class);
+
+	private static final String MAIN_CLASS_FILE = "main";
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	private static final String STAGING_PREFIX = ".staging-";
+
+	private static final List<String> SOURCE_EXTENSIONS = List.of(".groovy", ".gvy", ".java", ".class");
+
+	private final Path root;
+
+	CompiledContractsCache(Path root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param directory directory of the cache, {@code null} to take it from the system
+	 * properties
+	 * @return cache or {@code null} when no directory is set
+	 */
+	static CompiledContractsCache fromDirectoryOrSystemProps(File directory) {
+		if (directory != null) {
+			return new CompiledContractsCache(directory.toPath());
+		}
+		return fromSystemProps();
+	}
+
+	static CompiledContractsCache fromSystemProps() {
+		String cacheDir = System.getProperty(CACHE_DIR_SYSTEM_PROP);
+		if (!StringUtils.hasText(cacheDir)) {
+			return null;
+		}
+		return new CompiledContractsCache(Paths.get(cacheDir));
+	}
+
+	/**
+	 * Returns the compiled script class of the contract. Compiles the contract only if
+	 * there is no cached bytecode for it.
+	 * @param dsl contract file
+	 * @param contractsDirectory directory with all contracts and the classes they
+	 * reference
+	 * @param helperSources hash of the helper sources of the contracts directory, see
+	 * {@link #hashHelperSources(File)}
+	 * @param parent class loader with all classes that the contract can reference
+	 * @param configuration compiler configuration
+	 * @return compiled script class
+	 */
+	Class<?> scriptClass(File dsl, File contractsDirectory, String helperSources, GroovyClassLoader parent,
+			CompilerConfiguration configuration) throws IOException {
+		Path state = this.root.resolve(hash(contractsDirectory.getAbsolutePath()).substring(0, 16))
+			.resolve(stateKey(helperSources));
+		String contractKey = hash(dsl.getAbsolutePath()).substring(0, 16) + "-";
+		Path entry = state.resolve(contractKey + contentKey(dsl));
+		if (!Files.isRegularFile(entry.resolve(MAIN_CLASS_FILE))) {
+			evictPreviousStates(state);
+			compile(dsl, entry, parent, configuration);
+			evictPreviousCompilations(entry, contractKey);
+		}
+		else if (LOG.isDebugEnabled()) {
+			LOG.debug("Loading compiled contract [" + dsl + "] from cache [" + entry + "]");
+		}
+		String mainClass = new String(Files.readAllBytes(entry.resolve(MAIN_CLASS_FILE)), StandardCharsets.UTF_8);
+		try {
+			return new CachedClassesClassLoader(entry, parent).loadClass(mainClass);
+		}
+		catch (ClassNotFoundException ex) {
+			throw new IllegalStateException("Cached contract class [" + mainClass + "] not found in [" + entry + "]",
+					ex);
+		}
+	}
+
+	/**
+	 * Contracts are left out, since each entry is already keyed by the contents of its
+	 * contract. Otherwise a change of any contract would invalidate all entries.
+	 * @param contractsDirectory directory with all contracts and the classes they
+	 * reference
+	 * @return hash of the names and contents of all scripts and classes from the
+	 * contracts directory that are not contracts
+	 */
+	static String hashHelperSources(File contractsDirectory) throws IOException {
+		MessageDigest digest = sha256();
+		Path root = contractsDirectory.toPath();
+		if (!Files.isDirectory(root)) {
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path file : paths.filter(CompiledContractsCache::isSource).sorted().toList()) {
+				if (ContractFilesUtil.isContract(file)) {
+					continue;
+				}
+				digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(sha256().digest(Files.readAllBytes(file)));
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static boolean isSource(Path path) {
+		String name = path.getFileName().toString();
+		return SOURCE_EXTENSIONS.stream().anyMatch(name::endsWith) && Files.isRegularFile(path);
+	}
+
+	private static String stateKey(String helperSources) {
+		return hash(helperSources + "\n" + GroovySystem.getVersion() + "\n"
+				+ Contract.class.getPackage().getImplementationVersion());
+	}
+
+	private static String contentKey(File dsl) throws IOException {
+		MessageDigest digest = sha256();
+		digest.update(Files.readAllBytes(dsl.toPath()));
+		// script class name is taken from the file name
+		digest.update(dsl.getName().getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Entries of the previous states of the helper sources won't be read again.
+	 */
+	private static void evictPreviousStates(Path state) {
+		if (Files.isDirectory(state)) {
+			return;
+		}
+		File[] states = state.getParent().toFile().listFiles(File::isDirectory);
+		if (states == null) {
+			return;
+		}
+		for (File previous : states) {
+			// the current state might have been created by a concurrent compilation
+			if (!previous.toPath().equals(state)) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Deleting compiled contracts of a previous state [" + previous + "]");
+				}
+				FileSystemUtils.deleteRecursively(previous);
+			}
+		}
+	}
+
+	/**
+	 * Entries of the previous contents of the same contract won't be read again.
+	 */
+	private static void evictPreviousCompilations(Path entry, String contractKey) {
+		File[] previous = entry.getParent()
+			.toFile()
+			.listFiles(file -> file.getName().startsWith(contractKey) && !file.toPath().equals(entry));
+		if (previous == null) {
+			return;
+		}
+		for (File file : previous) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Deleting a previous compilation of a contract [" + file + "]");
+			}
+			FileSystemUtils.deleteRecursively(file);
+		}
+	}
+
+	private static String hash(String text) {
+		return HexFormat.of().formatHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private void compile(File dsl, Path entry, GroovyClassLoader parent, CompilerConfiguration configuration)
+			throws IOException {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Compiling contract [" + dsl + "] to cache [" + entry + "]");
+		}
+		CompilationUnit unit = new CompilationUnit(configuration, null, parent);
+		SourceUnit sourceUnit = unit.addSource(dsl);
+		unit.compile(Phases.CLASS_GENERATION);
+		Files.createDirectories(entry.getParent());
+		// write to a staging folder first so that a concurrent build never sees a partial
+		// entry
+		Path staging = Files.createDirectories(entry.resolveSibling(STAGING_PREFIX + UUID.randomUUID()));
+		for (GroovyClass groovyClass : unit.getClasses()) {
+			Files.write(staging.resolve(groovyClass.getName() + CLASS_FILE_EXTENSION), groovyClass.getBytes());
+		}
+		Files.write(staging.resolve(MAIN_CLASS_FILE),
+				sourceUnit.getAST().getMainClassName().getBytes(StandardCharsets.UTF_8));
+		try {
+			Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			// another build has already published the same entry
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Failed to publish compiled contract [" + dsl + "] to [" + entry + "]", ex);
+			}
+			FileSystemUtils.deleteRecursively(staging);
+			if (!Files.isRegularFile(entry.resolve(MAIN_CLASS_FILE))) {
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Defines classes from the cached bytecode. Cached classes take precedence over the
+	 * parent, since the parent could otherwise compile the contract from its sources.
+	 */
+	private static final class CachedClassesClassLoader extends ClassLoader {
+
+		private final Path entry;
+
+		private CachedClassesClassLoader(Path entry, ClassLoader parent) {
+			super(parent);
+			this.entry = entry;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> clazz = findLoadedClass(name);
+				if (clazz == null) {
+					Path classFile = this.entry.resolve(name + CLASS_FILE_EXTENSION);
+					if (!Files.isRegularFile(classFile)) {
+						return super.loadClass(name, resolve);
+					}
+					try {
+						byte[] bytes = Files.readAllBytes(classFile);
+						clazz = defineClass(name, bytes, 0, bytes.length);
+					}
+					catch (IOException ex) {
+						throw new ClassNotFoundException(name, ex);
+					}
+				}
+				if (resolve) {
+					resolveClass(clazz);
+				}
+				return clazz;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tells contracts apart from the other files of a contracts directory (e.g. bodies or
+ * helper classes) without parsing them. Files are only sniffed for the markers of a
+ * contract, so the check is cheap enough to be done for every file on every build.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+public final class ContractFilesUtil {
+
+	private static final Set<String> DSL_EXTENSIONS = Set.of("groovy", "gvy", "java", "kts");
+
+	private static final Set<String> YAML_EXTENSIONS = Set.of("yml", "yaml");
+
+	/**
+	 * Groovy and Java contracts call {@code Contract.make}, Kotlin ones {@code contract}.
+	 */
+	private static final Pattern DSL_CONTRACT = Pattern.compile("Contract\\.make|\\bcontract\\s*\\{");
+
+	/**
+	 * YAML contracts have a top level request or input section.
+	 */
+	private static final Pattern YAML_CONTRACT = Pattern
+		.compile("^[\"']?(request|response|input|outputMessage)[\"']?\\s*:");
+
+	private ContractFilesUtil() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * Reads the file only until the first marker of a contract.
+	 * @param file file from the contracts directory
+	 * @return {@code true} when the file looks like a DSL or YAML contract
+	 */
+	public static boolean isContract(Path file) throws IOException {
+		Pattern pattern = contractPattern(file);
+		if (pattern == null) {
+			return false;
+		}
+		try (InputStream stream = Files.newInputStream(file)) {
+			return anyLineMatches(stream, pattern);
+		}
+	}
+
+	/**
+	 * @param file file from the contracts directory
+	 * @param content contents of the file
+	 * @return {@code true} when the file looks like a DSL or YAML contract
+	 */
+	public static boolean isContract(Path file, byte[] content) {
+		Pattern pattern = contractPattern(file);
+		if (pattern == null) {
+			return false;
+		}
+		try {
+			return anyLineMatches(new ByteArrayInputStream(content), pattern);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static Pattern contractPattern(Path file) {
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		if (dot < 0) {
+			return null;
+		}
+		String extension = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+		if (YAML_EXTENSIONS.contains(extension)) {
+			return YAML_CONTRACT;
+		}
+		return DSL_EXTENSIONS.contains(extension) ? DSL_CONTRACT : null;
+	}
+
+	private static boolean anyLineMatches(InputStream stream, Pattern pattern) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (pattern.matcher(line).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
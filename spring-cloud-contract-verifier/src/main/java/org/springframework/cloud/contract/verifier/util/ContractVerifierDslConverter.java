@@ -18,44 +18,32 @@ package org.springframework.cloud.contract.verifier.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Locale;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import javax.tools.DiagnosticCollector;
-import javax.tools.JavaCompiler;
-import javax.tools.StandardJavaFileManager;
-import javax.tools.StandardLocation;
-import javax.tools.ToolProvider;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cloud.contract.spec.Contract;
 import org.springframework.cloud.contract.spec.ContractConverter;
-import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.StringUtils;
 
 /**
  * Converts a String or a Groovy or Java file into a {@link Contract}.
@@ -74,17 +62,31 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 	 */
 	public static final ContractVerifierDslConverter INSTANCE = new ContractVerifierDslConverter();
 
-	private static final Pattern PACKAGE_PATTERN = Pattern.compile(".*package (.+?);.+?", Pattern.DOTALL);
-
-	private static final Pattern CLASS_PATTERN = Pattern.compile(".+?class (.+?)( |\\{).+?", Pattern.DOTALL);
+	private static final int MAX_CACHED_CONTRACTS_DIRECTORIES = 32;
 
-	private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+	/**
+	 * Class loaders of the root folders, per contracts directory. Reused for every
+	 * contract in the folder, so that classes referenced by the contracts get compiled
+	 * only once. Class loaders of evicted contracts directories get closed.
+	 */
+	private static final Map<File, ContractsDirectoryClassLoaders> CLASS_LOADERS = Collections
+		.synchronizedMap(new LinkedHashMap<>(MAX_CACHED_CONTRACTS_DIRECTORIES, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<File, ContractsDirectoryClassLoaders> eldest) {
+				if (size() > MAX_CACHED_CONTRACTS_DIRECTORIES) {
+					eldest.getValue().close();
+					return true;
+				}
+				return false;
+			}
+		});
 
 	public static Collection<Contract> convertAsCollection(File rootFolder, String dsl) {
 		ClassLoader classLoader = ContractVerifierDslConverter.class.getClassLoader();
 		try {
-			ClassLoader urlCl = updatedClassLoader(rootFolder, classLoader);
-			Object object = groovyShell(urlCl, rootFolder).evaluate(dsl);
+			RootFolderClassLoaders classLoaders = classLoaders(rootFolder, rootFolder);
+			updateTheThreadClassLoader(classLoaders.urlClassLoader);
+			Object object = classLoaders.groovyShell().evaluate(dsl);
 			return listOfContracts(object);
 		}
 		catch (DslParseException e) {
@@ -104,10 +106,27 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 	}
 
 	public static Collection<Contract> convertAsCollection(File rootFolder, File dsl) {
+		return convertAsCollection(rootFolder, rootFolder, dsl, null);
+	}
+
+	/**
+	 * @param contractsDirectory directory with all contracts and the classes they
+	 * reference, the class loaders of its root folders are cached together
+	 * @param rootFolder root folder of contracts
+	 * @param dsl contract file
+	 * @param compiledContractsCacheDir directory where compiled Groovy contracts are
+	 * stored for reuse, {@code null} to take it from the
+	 * {@code spring.cloud.contract.verifier.dsl.cache-dir} system property
+	 * @return converted contracts
+	 * @since 5.0.0
+	 */
+	public static Collection<Contract> convertAsCollection(File contractsDirectory, File rootFolder, File dsl,
+			File compiledContractsCacheDir) {
 		ClassLoader classLoader = ContractVerifierDslConverter.class.getClassLoader();
 		try {
-			ClassLoader urlCl = updatedClassLoader(rootFolder, classLoader);
-			Object object = toObject(urlCl, rootFolder, dsl);
+			RootFolderClassLoaders classLoaders = classLoaders(contractsDirectory, rootFolder);
+			updateTheThreadClassLoader(classLoaders.urlClassLoader);
+			Object object = toObject(classLoaders, dsl, compiledContractsCacheDir);
 			return listOfContracts(dsl, object);
 		}
 		catch (DslParseException e) {
@@ -122,29 +141,35 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 		}
 	}
 
-	private static ClassLoader updatedClassLoader(File rootFolder, ClassLoader classLoader) {
-		ClassLoader urlCl;
-		try {
-			urlCl = URLClassLoader
-				.newInstance(Collections.singletonList(rootFolder.toURI().toURL()).toArray(new URL[0]), classLoader);
-		}
-		catch (MalformedURLException e) {
-			LOG.error("Exception occurred while trying to construct the URL from the root folder at path ["
-					+ rootFolder.getPath() + "]", e);
-			throw new DslParseException(e);
+	/**
+	 * Makes subsequent conversions hash the helper sources of each contracts directory
+	 * again. The class loaders outlive a build in a long lived JVM (e.g. a Gradle worker
+	 * daemon), so each scan of contracts calls it to notice changed helper classes or
+	 * scripts. Class loaders of the contracts directories with changed helper sources get
+	 * closed.
+	 * @since 5.0.0
+	 */
+	public static void refreshSourcesHashes() {
+		synchronized (CLASS_LOADERS) {
+			CLASS_LOADERS.values().forEach(ContractsDirectoryClassLoaders::refreshSourcesHash);
 		}
-		updateTheThreadClassLoader(urlCl);
-		return urlCl;
+	}
+
+	private static RootFolderClassLoaders classLoaders(File contractsDirectory, File rootFolder) {
+		return CLASS_LOADERS
+			.computeIfAbsent(contractsDirectory.getAbsoluteFile(), ContractsDirectoryClassLoaders::new)
+			.rootFolder(rootFolder.getAbsoluteFile());
 	}
 
 	private static void updateTheThreadClassLoader(ClassLoader urlCl) {
 		Thread.currentThread().setContextClassLoader(urlCl);
 	}
 
-	private static Object toObject(ClassLoader cl, File rootFolder, File dsl) throws IOException {
+	private static Object toObject(RootFolderClassLoaders classLoaders, File dsl, File compiledContractsCacheDir)
+			throws IOException {
 		if (isJava(dsl)) {
 			try {
-				return parseJavaFile(rootFolder, dsl);
+				return parseJavaFile(classLoaders, dsl);
 			}
 			catch (Exception ex) {
 				if (LOG.isWarnEnabled()) {
@@ -154,12 +179,19 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 				return null;
 			}
 		}
-		return groovyShell(cl, rootFolder).evaluate(dsl);
+		CompiledContractsCache cache = CompiledContractsCache.fromDirectoryOrSystemProps(compiledContractsCacheDir);
+		if (cache != null) {
+			Class<?> scriptClass = cache.scriptClass(dsl, classLoaders.contractsDirectory.directory,
+					classLoaders.contractsDirectory.helperSourcesHash(), classLoaders.groovyClassLoader,
+					classLoaders.compilerConfiguration);
+			return InvokerHelper.createScript(scriptClass, new Binding()).run();
+		}
+		return classLoaders.groovyShell().evaluate(dsl);
 	}
 
-	private static Object parseJavaFile(File rootFolder, File dsl) throws IllegalAccessException,
+	private static Object parseJavaFile(RootFolderClassLoaders classLoaders, File dsl) throws IllegalAccessException,
 			InvocationTargetException, InstantiationException, IOException, NoSuchMethodException {
-		Constructor<?> constructor = classConstructor(rootFolder, dsl);
+		Constructor<?> constructor = classConstructor(classLoaders, dsl);
 		Object newInstance = constructor.newInstance();
 		if (!(newInstance instanceof Supplier)) {
 			if (LOG.isDebugEnabled()) {
@@ -171,97 +203,18 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 		return supplier.get();
 	}
 
-	private static Constructor<?> classConstructor(File rootFolder, File dsl)
+	private static Constructor<?> classConstructor(RootFolderClassLoaders classLoaders, File dsl)
 			throws IllegalAccessException, IOException, NoSuchMethodException {
-		try (StandardJavaFileManager fileManager = COMPILER.getStandardFileManager(null, null, null)) {
-			try (Stream<String> lines = Files.lines(Paths.get(dsl.getAbsolutePath()))) {
-				String classText = lines.collect(Collectors.joining("\n"));
-				String fqn = fqn(classText);
-				Path directory = Files.createTempDirectory(fqn);
-				fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(directory.toFile()));
-				// set compiler's classpath to be same as the runtime's
-				Set<File> classpathLocations = new HashSet<>();
-				classpathLocations.add(rootFolder);
-				appendUrlsFromAllClassLoaders(classpathLocations);
-				String classPath = System.getProperty("java.class.path", "");
-				if (StringUtils.hasText(classPath)) {
-					classpathLocations.addAll(Arrays.stream(classPath.split(":")).map(File::new).toList());
-				}
-				fileManager.setLocation(StandardLocation.CLASS_PATH, classpathLocations);
-				// Compile the file
-				DiagnosticCollector<Object> diagnostics = new DiagnosticCollector<>();
-				JavaCompiler.CompilationTask task = COMPILER.getTask(null, fileManager, diagnostics, null, null,
-						fileManager.getJavaFileObjectsFromFiles(List.of(dsl)));
-				boolean success = task.call();
-				if (!success) {
-					throw new IllegalStateException(
-							"Exceptions occurred while trying to compile the file \n" + diagnostics.getDiagnostics()
-								.stream()
-								.map(d -> "Error " + d.getMessage(Locale.getDefault()) + " on line " + d.getLineNumber()
-										+ " in " + d.getSource())
-								.collect(Collectors.joining("\n")));
-				}
-				try {
-					// Add the folder with compiled classes to the class loader
-					URLClassLoader urlClassLoader = new URLClassLoader("contract-classloader",
-							new URL[] { new URL("file://" + directory.toAbsolutePath() + "/") },
-							Thread.currentThread().getContextClassLoader());
-					Class<?> clazz = ClassUtils.forName(fqn, urlClassLoader);
-					Constructor<?> constructor = clazz.getDeclaredConstructor();
-					constructor.setAccessible(true);
-					return constructor;
-				}
-				catch (ClassNotFoundException e) {
-					throw new IllegalStateException("Class with name [" + fqn + "] not found");
-				}
-			}
-		}
-	}
-
-	private static void appendUrlsFromAllClassLoaders(Set<File> files) {
-		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-		if (classLoader != null) {
-			appendUrlsFromClasspath(files, classLoader);
-			while (classLoader.getParent() != null) {
-				classLoader = classLoader.getParent();
-				appendUrlsFromClasspath(files, classLoader);
-			}
-		}
-	}
-
-	private static void appendUrlsFromClasspath(Set<File> files, ClassLoader classLoader) {
-		if (classLoader instanceof URLClassLoader urlClassLoader) {
-			URL[] urLs = urlClassLoader.getURLs();
-			if (urLs.length > 0) {
-				Arrays.stream(urLs).forEach(url -> files.add(new File(url.getFile())));
-			}
-		}
+		Class<?> clazz = classLoaders.javaContractsCompiler.contractClass(dsl);
+		Constructor<?> constructor = clazz.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return constructor;
 	}
 
 	private static boolean isJava(File dsl) {
 		return dsl.getName().endsWith(".java");
 	}
 
-	private static String fqn(String classText) throws IllegalAccessException {
-		Matcher packageMatcher = PACKAGE_PATTERN.matcher(classText);
-		String fqn = "";
-		if (packageMatcher.matches()) {
-			fqn = packageMatcher.group(1) + ".";
-		}
-		Matcher classMatcher = CLASS_PATTERN.matcher(classText);
-		if (!classMatcher.matches()) {
-			throw new IllegalAccessException("Can't parse the class name");
-		}
-		return fqn + classMatcher.group(1);
-	}
-
-	private static GroovyShell groovyShell(ClassLoader cl, File rootFolder) {
-		CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
-		compilerConfiguration.setSourceEncoding("UTF-8");
-		compilerConfiguration.setClasspathList(Collections.singletonList(rootFolder.getAbsolutePath()));
-		return new GroovyShell(cl, compilerConfiguration);
-	}
-
 	private static Collection<Contract> listOfContracts(Object object) {
 		if (object instanceof Collection) {
 			return (Collection<Contract>) object;
@@ -303,6 +256,135 @@ public class ContractVerifierDslConverter implements ContractConverter<Collectio
 		return it != null && ObjectUtils.isEmpty(it.getName());
 	}
 
+	/**
+	 * Class loaders of the root folders of a contracts directory. They share the hash of
+	 * the helper sources of the whole directory, since a contract can reference classes
+	 * from any of its folders.
+	 */
+	private static final class ContractsDirectoryClassLoaders {
+
+		private final File directory;
+
+		private final Map<File, RootFolderClassLoaders> rootFolders = new ConcurrentHashMap<>();
+
+		private volatile String helperSourcesHash;
+
+		private ContractsDirectoryClassLoaders(File directory) {
+			this.directory = directory;
+		}
+
+		private RootFolderClassLoaders rootFolder(File rootFolder) {
+			return this.rootFolders.computeIfAbsent(rootFolder, folder -> new RootFolderClassLoaders(this, folder,
+					ContractVerifierDslConverter.class.getClassLoader()));
+		}
+
+		/**
+		 * Helper sources of the contracts directory are hashed once until
+		 * {@link #refreshSourcesHashes()} is called.
+		 */
+		private String helperSourcesHash() throws IOException {
+			String hash = this.helperSourcesHash;
+			if (hash == null) {
+				hash = CompiledContractsCache.hashHelperSources(this.directory);
+				this.helperSourcesHash = hash;
+			}
+			return hash;
+		}
+
+		/**
+		 * Sources are hashed only for the compiled contracts cache. Without it the class
+		 * loaders recompile the changed sources on their own.
+		 */
+		private void refreshSourcesHash() {
+			String previous = this.helperSourcesHash;
+			if (previous == null) {
+				return;
+			}
+			String current = hashHelperSourcesOrNull();
+			this.helperSourcesHash = current;
+			if (current == null || !current.equals(previous)) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Helper sources of [" + this.directory
+							+ "] have changed, will create new class loaders");
+				}
+				close();
+			}
+		}
+
+		private String hashHelperSourcesOrNull() {
+			try {
+				return CompiledContractsCache.hashHelperSources(this.directory);
+			}
+			catch (IOException | UncheckedIOException ex) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Failed to hash the helper sources of [" + this.directory + "]", ex);
+				}
+				return null;
+			}
+		}
+
+		private void close() {
+			this.rootFolders.values().forEach(RootFolderClassLoaders::close);
+			this.rootFolders.clear();
+		}
+
+	}
+
+	/**
+	 * Class loaders and compiler configuration shared by all contracts of a root folder.
+	 */
+	private static final class RootFolderClassLoaders {
+
+		private final ContractsDirectoryClassLoaders contractsDirectory;
+
+		private final URLClassLoader urlClassLoader;
+
+		private final CompilerConfiguration compilerConfiguration;
+
+		private final GroovyClassLoader groovyClassLoader;
+
+		private final JavaContractsCompiler javaContractsCompiler;
+
+		private RootFolderClassLoaders(ContractsDirectoryClassLoaders contractsDirectory, File rootFolder,
+				ClassLoader classLoader) {
+			this.contractsDirectory = contractsDirectory;
+			try {
+				this.urlClassLoader = URLClassLoader.newInstance(new URL[] { rootFolder.toURI().toURL() },
+						classLoader);
+			}
+			catch (MalformedURLException e) {
+				LOG.error("Exception occurred while trying to construct the URL from the root folder at path ["
+						+ rootFolder.getPath() + "]", e);
+				throw new DslParseException(e);
+			}
+			this.compilerConfiguration = new CompilerConfiguration();
+			this.compilerConfiguration.setSourceEncoding("UTF-8");
+			this.compilerConfiguration.setClasspathList(Collections.singletonList(rootFolder.getAbsolutePath()));
+			// classes referenced from contracts are cached, recompile them if they change
+			this.compilerConfiguration.setRecompileGroovySource(true);
+			this.groovyClassLoader = new GroovyClassLoader(this.urlClassLoader, this.compilerConfiguration);
+			this.javaContractsCompiler = new JavaContractsCompiler(rootFolder, this.urlClassLoader);
+		}
+
+		private GroovyShell groovyShell() {
+			return new GroovyShell(this.groovyClassLoader, this.compilerConfiguration);
+		}
+
+		private void close() {
+			// class loaders hold open handles of the files they read
+			try {
+				this.groovyClassLoader.close();
+				this.urlClassLoader.close();
+			}
+			catch (IOException ex) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Failed to close the class loaders of contracts", ex);
+				}
+			}
+		}
+
+	}
+
 	@Override
 	public boolean isAccepted(File file) {
 		return file.getName().endsWith(".groovy") || file.getName().endsWith(".gvy")
@@ -60,6 +60,14 @@ public final class ContractVerifierUtil {
 
 	private static final Log LOG = LogFactory.getLog(ContractVerifierUtil.class);
 
+	private static final YamlContractConverter CONVERTER = new YamlContractConverter();
+
+	/**
+	 * {@link XPath} is not thread safe, so it's reused per thread.
+	 */
+	private static final ThreadLocal<XPath> XPATH = ThreadLocal
+		.withInitial(() -> XPathFactory.newInstance().newXPath());
+
 	private ContractVerifierUtil() {
 		throw new IllegalStateException("Can't instantiate utility class");
 	}
@@ -92,9 +100,8 @@ public final class ContractVerifierUtil {
 	 * @since 2.1.0
 	 */
 	public static String valueFromXPath(Document parsedXml, String path) {
-		XPath xPath = XPathFactory.newInstance().newXPath();
 		Element documentElement = parsedXml.getDocumentElement();
-		xPath.setNamespaceContext(new DOMNamespaceContext(documentElement));
+		XPath xPath = xPath(documentElement);
 		try {
 			return xPath.evaluate(path, documentElement);
 		}
@@ -112,9 +119,8 @@ public final class ContractVerifierUtil {
 	 * @since 2.1.0
 	 */
 	public static Node nodeFromXPath(Document parsedXml, String path) {
-		XPath xPath = XPathFactory.newInstance().newXPath();
 		Element documentElement = parsedXml.getDocumentElement();
-		xPath.setNamespaceContext(new DOMNamespaceContext(documentElement));
+		XPath xPath = xPath(documentElement);
 		try {
 			return (Node) xPath.evaluate(path, documentElement, XPathConstants.NODE);
 		}
@@ -124,6 +130,13 @@ public final class ContractVerifierUtil {
 		}
 	}
 
+	private static XPath xPath(Element documentElement) {
+		XPath xPath = XPATH.get();
+		xPath.reset();
+		xPath.setNamespaceContext(new DOMNamespaceContext(documentElement));
+		return xPath;
+	}
+
 	/**
 	 * Helper method to convert a file to bytes.
 	 * @param testClass - test class relative to which the file is stored
@@ -133,8 +146,8 @@ public final class ContractVerifierUtil {
 	 */
 	public static YamlContract contract(Object testClass, String relativePath) {
 		String path = fromRelativePath(relativePath);
-		byte[] bytes = fileToBytes(testClass, path);
-		List<YamlContract> read = new YamlContractConverter().read(bytes);
+		// each generated test reads its own file once, so the contracts are not cached
+		List<YamlContract> read = CONVERTER.read(fileToBytes(testClass, path));
 		return read.isEmpty() ? null : read.get(0);
 	}
 
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiles Java contracts of a root folder in memory. All contracts of a directory that
+ * weren't compiled yet, or that changed since they were compiled, are compiled in a single
+ * compilation task. Contracts that fail to compile are left out of the later tasks until
+ * they change. The compiler's classpath is computed only once per root folder.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+final class JavaContractsCompiler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JavaContractsCompiler.class);
+
+	private static final Pattern PACKAGE_PATTERN = Pattern.compile(".*package (.+?);.+?", Pattern.DOTALL);
+
+	private static final Pattern CLASS_PATTERN = Pattern.compile(".+?class (.+?)( |\\{).+?", Pattern.DOTALL);
+
+	private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+
+	private final File rootFolder;
+
+	private final ClassLoader parent;
+
+	private final Map<File, CompiledContract> compiledContracts = new HashMap<>();
+
+	private final Map<File, long[]> brokenContracts = new HashMap<>();
+
+	private Set<File> classpath;
+
+	JavaContractsCompiler(File rootFolder, ClassLoader parent) {
+		this.rootFolder = rootFolder;
+		this.parent = parent;
+	}
+
+	/**
+	 * Returns the class of the given Java contract. Compiles it together with all other
+	 * not yet compiled or modified Java contracts from the same directory.
+	 * @param dsl Java contract file
+	 * @return compiled class
+	 * @throws IOException when the contract can't be read
+	 * @throws IllegalAccessException when the class name can't be parsed
+	 */
+	synchronized Class<?> contractClass(File dsl) throws IOException, IllegalAccessException {
+		File file = dsl.getAbsoluteFile();
+		CompiledContract compiled = this.compiledContracts.get(file);
+		if (compiled == null || !compiled.isUpToDate(file)) {
+			compileBatch(file);
+			compiled = this.compiledContracts.get(file);
+		}
+		try {
+			return ClassUtils.forName(compiled.fqn, compiled.classLoader);
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Class with name [" + compiled.fqn + "] not found");
+		}
+	}
+
+	private void compileBatch(File dsl) throws IOException, IllegalAccessException {
+		Map<File, String> batch = new LinkedHashMap<>();
+		batch.put(dsl, fqn(dsl));
+		File[] siblings = dsl.getParentFile().listFiles((dir, name) -> name.endsWith(".java"));
+		if (siblings != null) {
+			Arrays.sort(siblings);
+			for (File sibling : siblings) {
+				File file = sibling.getAbsoluteFile();
+				CompiledContract compiled = this.compiledContracts.get(file);
+				if (!batch.containsKey(file) && (compiled == null || !compiled.isUpToDate(file)) && !isBroken(file)) {
+					try {
+						batch.put(file, fqn(file));
+					}
+					catch (IllegalAccessException | IOException ex) {
+						if (LOG.isDebugEnabled()) {
+							LOG.debug("Will not compile [" + file + "] together with other contracts", ex);
+						}
+					}
+				}
+			}
+		}
+		if (batch.size() > 1) {
+			try {
+				compile(batch);
+				return;
+			}
+			catch (CompilationFailedException ex) {
+				// one broken file must not prevent the others from being parsed
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Failed to compile [" + batch.size() + "] contracts together. Will compile them again "
+							+ "without the broken ones", ex);
+				}
+				compileWithoutBroken(batch, ex.failedFiles.isEmpty() ? batch.keySet() : ex.failedFiles);
+				CompiledContract compiled = this.compiledContracts.get(dsl);
+				if (compiled != null && compiled.isUpToDate(dsl)) {
+					return;
+				}
+			}
+		}
+		compile(Map.of(dsl, batch.get(dsl)));
+	}
+
+	/**
+	 * Broken files are left out of the batches until they change, so that they don't get
+	 * compiled again together with each of their siblings. The remaining files are
+	 * compiled together once more.
+	 */
+	private void compileWithoutBroken(Map<File, String> batch, Set<File> broken) throws IOException {
+		broken.forEach(file -> this.brokenContracts.put(file, stamp(file)));
+		Map<File, String> remaining = new LinkedHashMap<>(batch);
+		remaining.keySet().removeAll(broken);
+		if (remaining.size() < 2) {
+			return;
+		}
+		try {
+			compile(remaining);
+		}
+		catch (CompilationFailedException ex) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Failed to compile [" + remaining.size() + "] contracts together. Will compile each of them "
+						+ "on its own", ex);
+			}
+			remaining.keySet().forEach(file -> this.brokenContracts.put(file, stamp(file)));
+		}
+	}
+
+	private boolean isBroken(File file) {
+		long[] stamp = this.brokenContracts.get(file);
+		return stamp != null && Arrays.equals(stamp, stamp(file));
+	}
+
+	private void compile(Map<File, String> batch) throws IOException {
+		Map<File, long[]> stamps = new HashMap<>();
+		for (File file : batch.keySet()) {
+			stamps.put(file, stamp(file));
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Compiling [" + batch.size() + "] Java contracts from [" + this.rootFolder + "]");
+		}
+		try (StandardJavaFileManager standardFileManager = COMPILER.getStandardFileManager(null, null,
+				StandardCharsets.UTF_8)) {
+			standardFileManager.setLocation(StandardLocation.CLASS_PATH, classpath());
+			InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager);
+			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+			JavaCompiler.CompilationTask task = COMPILER.getTask(null, fileManager, diagnostics, null, null,
+					standardFileManager.getJavaFileObjectsFromFiles(batch.keySet()));
+			boolean success = task.call();
+			if (!success) {
+				throw new CompilationFailedException(
+						"Exceptions occurred while trying to compile the file \n" + diagnostics.getDiagnostics()
+							.stream()
+							.map(d -> "Error " + d.getMessage(Locale.getDefault()) + " on line " + d.getLineNumber()
+									+ " in " + d.getSource())
+							.collect(Collectors.joining("\n")),
+						failedFiles(diagnostics, batch.keySet()));
+			}
+			ClassLoader classLoader = new BytecodeClassLoader(fileManager.bytecode(), this.parent);
+			batch.forEach((file, fqn) -> {
+				this.compiledContracts.put(file, new CompiledContract(fqn, classLoader, stamps.get(file)));
+				this.brokenContracts.remove(file);
+			});
+		}
+	}
+
+	private static Set<File> failedFiles(DiagnosticCollector<JavaFileObject> diagnostics, Set<File> batch) {
+		Set<File> failedFiles = new LinkedHashSet<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() != null) {
+				File file = new File(diagnostic.getSource().toUri()).getAbsoluteFile();
+				if (batch.contains(file)) {
+					failedFiles.add(file);
+				}
+			}
+		}
+		return failedFiles;
+	}
+
+	private Set<File> classpath() {
+		if (this.classpath == null) {
+			// set compiler's classpath to be same as the runtime's
+			Set<File> classpathLocations = new LinkedHashSet<>();
+			classpathLocations.add(this.rootFolder);
+			appendUrlsFromAllClassLoaders(classpathLocations);
+			String classPath = System.getProperty("java.class.path", "");
+			if (StringUtils.hasText(classPath)) {
+				classpathLocations.addAll(Arrays.stream(classPath.split(":")).map(File::new).toList());
+			}
+			this.classpath = classpathLocations;
+		}
+		return this.classpath;
+	}
+
+	private void appendUrlsFromAllClassLoaders(Set<File> files) {
+		ClassLoader classLoader = this.parent;
+		while (classLoader != null) {
+			if (classLoader instanceof URLClassLoader urlClassLoader) {
+				Arrays.stream(urlClassLoader.getURLs()).forEach(url -> files.add(new File(url.getFile())));
+			}
+			classLoader = classLoader.getParent();
+		}
+	}
+
+	private static String fqn(File dsl) throws IOException, IllegalAccessException {
+		String classText = Files.readString(dsl.toPath());
+		Matcher packageMatcher = PACKAGE_PATTERN.matcher(classText);
+		String fqn = "";
+		if (packageMatcher.matches()) {
+			fqn = packageMatcher.group(1) + ".";
+		}
+		Matcher classMatcher = CLASS_PATTERN.matcher(classText);
+		if (!classMatcher.matches()) {
+			throw new IllegalAccessException("Can't parse the class name");
+		}
+		return fqn + classMatcher.group(1);
+	}
+
+	private static long[] stamp(File file) {
+		return new long[] { file.lastModified(), file.length() };
+	}
+
+	private static final class CompilationFailedException extends IllegalStateException {
+
+		private final Set<File> failedFiles;
+
+		private CompilationFailedException(String message, Set<File> failedFiles) {
+			super(message);
+			this.failedFiles = failedFiles;
+		}
+
+	}
+
+	private static final class CompiledContract {
+
+		private final String fqn;
+
+		private final ClassLoader classLoader;
+
+		private final long[] stamp;
+
+		private CompiledContract(String fqn, ClassLoader classLoader, long[] stamp) {
+			this.fqn = fqn;
+			this.classLoader = classLoader;
+			this.stamp = stamp;
+		}
+
+		private boolean isUpToDate(File file) {
+			return Arrays.equals(this.stamp, stamp(file));
+		}
+
+	}
+
+	/**
+	 * Keeps the generated bytecode in memory instead of writing it to disk.
+	 */
+	private static final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		private final List<ClassFile> classFiles = new ArrayList<>();
+
+		private InMemoryFileManager(StandardJavaFileManager fileManager) {
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+				FileObject sibling) {
+			ClassFile classFile = new ClassFile(className, kind);
+			this.classFiles.add(classFile);
+			return classFile;
+		}
+
+		private Map<String, byte[]> bytecode() {
+			Map<String, byte[]> bytecode = new HashMap<>();
+			this.classFiles.forEach(classFile -> bytecode.put(classFile.className, classFile.bytes.toByteArray()));
+			return bytecode;
+		}
+
+	}
+
+	private static final class ClassFile extends SimpleJavaFileObject {
+
+		private final String className;
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private ClassFile(String className, Kind kind) {
+			super(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind);
+			this.className = className;
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return this.bytes;
+		}
+
+	}
+
+	private static final class BytecodeClassLoader extends ClassLoader {
+
+		private final Map<String, byte[]> bytecode;
+
+		private BytecodeClassLoader(Map<String, byte[]> bytecode, ClassLoader parent) {
+			super("contract-classloader", parent);
+			this.bytecode = bytecode;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			byte[] bytes = this.bytecode.get(name);
+			if (bytes == null) {
+				throw new ClassNotFoundException(name);
+			}
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+
+	}
+
+}
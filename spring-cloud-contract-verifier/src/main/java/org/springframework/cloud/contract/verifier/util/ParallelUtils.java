@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Processes independent elements (e.g. contract files) in a fork join pool.
+ *
+ * @author Marcin Grzejszczak
+ * @since 5.0.0
+ */
+public final class ParallelUtils {
+
+	private ParallelUtils() {
+		throw new IllegalStateException("Can't instantiate an utility class");
+	}
+
+	/**
+	 * Applies the function to each element. With parallelism greater than 1 the elements
+	 * get processed in a fork join pool. The workers run with the context class loader of
+	 * the calling thread and restore their own one afterwards. Results are returned in the
+	 * order of the elements, regardless of the parallelism.
+	 * @param elements elements to process
+	 * @param parallelism max number of elements processed at the same time
+	 * @param function function to apply, has to be thread safe when parallelism is
+	 * greater than 1
+	 * @param <T> type of the elements
+	 * @param <R> type of the results
+	 * @return results in the order of the elements
+	 */
+	public static <T, R> List<R> map(List<T> elements, int parallelism, Function<T, R> function) {
+		if (parallelism <= 1 || elements.size() <= 1) {
+			return elements.stream().map(function).toList();
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool
+				.submit(() -> elements.parallelStream()
+					.map(element -> withClassLoader(classLoader, function, element))
+					.toList())
+				.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static <T, R> R withClassLoader(ClassLoader classLoader, Function<T, R> function, T element) {
+		// the function might change the context class loader of the worker thread
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(classLoader);
+		try {
+			return function.apply(element);
+		}
+		finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+}
@@ -17,11 +17,19 @@
 package org.springframework.cloud.contract.verifier;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.assertj.core.api.BDDAssertions;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.BDDMockito;
 
 import org.springframework.cloud.contract.spec.Contract;
@@ -34,6 +42,9 @@ import org.springframework.util.MultiValueMap;
 
 public class TestGeneratorTests {
 
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
 	@Test
 	public void should_throw_exception_when_in_progress_contracts_found() {
 		// given:
@@ -111,4 +122,90 @@ public class TestGeneratorTests {
 		// then: noExceptionThrown()
 	}
 
+	@Test
+	public void should_generate_the_same_test_classes_in_parallel_as_sequentially() throws Exception {
+		// given:
+		File contractsDir = this.tmp.newFolder("contracts");
+		MultiValueMap<Path, ContractMetadata> multimap = CollectionUtils.toMultiValueMap(new LinkedHashMap<>());
+		for (int i = 0; i < 10; i++) {
+			Path path = new File(contractsDir, "dir" + i + File.separator + "nested" + i).toPath();
+			multimap.add(path, new ContractMetadata(path, false, 0, null, Contract.make(it -> {
+				it.request(r -> {
+					r.method(r.GET());
+					r.url("/foo");
+				});
+				it.response(r -> {
+					r.status(r.OK());
+				});
+			})));
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+		// when:
+		Map<Path, String> sequential = generateTestClasses(contractsDir, multimap, 1);
+		Map<Path, String> parallel = generateTestClasses(contractsDir, multimap, 4);
+
+		// then:
+		BDDAssertions.then(sequential).hasSize(10);
+		BDDAssertions.then(parallel).isEqualTo(sequential);
+		BDDAssertions.then(Thread.currentThread().getContextClassLoader()).isSameAs(classLoader);
+	}
+
+	private Map<Path, String> generateTestClasses(File contractsDir, MultiValueMap<Path, ContractMetadata> contracts,
+			int parallelism) throws IOException {
+		File outputDir = this.tmp.newFolder("generated-" + parallelism);
+		ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties();
+		properties.setContractsDslDir(contractsDir);
+		properties.setGeneratedTestSourcesDir(outputDir);
+		properties.setParallelism(parallelism);
+		SingleTestGenerator singleTestGenerator = BDDMockito.mock(SingleTestGenerator.class);
+		BDDMockito
+			.given(singleTestGenerator.buildClass(BDDMockito.any(), BDDMockito.any(), BDDMockito.any(),
+					BDDMockito.any()))
+			.willAnswer(invocation -> {
+				SingleTestGenerator.GeneratedClassData data = invocation.getArgument(3);
+				return "package " + data.classPackage + "; class " + data.className + " {} // "
+						+ invocation.getArgument(2);
+			});
+		ContractFileScanner scanner = new ContractFileScanner(null, null, null, null, null) {
+			@Override
+			public MultiValueMap<Path, ContractMetadata> findContractsRecursively() {
+				return contracts;
+			}
+		};
+		TestGenerator testGenerator = new TestGenerator(properties, singleTestGenerator,
+				new FileSaver(outputDir, ".java"), scanner);
+		testGenerator.generateTestClasses("com.example");
+		Map<Path, String> classes = new TreeMap<>();
+		for (Map.Entry<Path, Path> entry : testGenerator.getGeneratedClasses().entrySet()) {
+			Path classPath = outputDir.toPath().relativize(entry.getValue());
+			classes.put(contractsDir.toPath().relativize(entry.getKey()),
+					classPath + ":" + Files.readString(entry.getValue()));
+		}
+		return classes;
+	}
+
+	@Test
+	public void should_not_rewrite_a_class_file_with_the_same_content() throws Exception {
+		// given:
+		FileSaver fileSaver = new FileSaver(this.tmp.getRoot(), ".java");
+		Path classFile = this.tmp.newFile("FooTest.java").toPath();
+		byte[] bytes = "class FooTest {}".getBytes(StandardCharsets.UTF_8);
+		Files.write(classFile, bytes);
+		FileTime lastModified = FileTime.fromMillis(0L);
+		Files.setLastModifiedTime(classFile, lastModified);
+
+		// when:
+		fileSaver.saveClassFile(classFile, bytes);
+
+		// then:
+		BDDAssertions.then(Files.getLastModifiedTime(classFile)).isEqualTo(lastModified);
+
+		// when:
+		fileSaver.saveClassFile(classFile, "class BarTest {}".getBytes(StandardCharsets.UTF_8));
+
+		// then:
+		BDDAssertions.then(Files.readString(classFile)).isEqualTo("class BarTest {}");
+	}
+
 }
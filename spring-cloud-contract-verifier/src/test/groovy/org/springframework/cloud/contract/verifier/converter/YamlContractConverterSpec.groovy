@@ -1202,4 +1202,15 @@ response:
 		then:
 			!accepted
 	}
+
+	def "should not parse an accepted YAML file again"() {
+		given:
+			assert converter.isAccepted(ymlCookies)
+		when:
+			Collection<Contract> first = converter.convertFrom(ymlCookies)
+			Collection<Contract> second = converter.convertFrom(ymlCookies)
+		then:
+			first == second
+			!first.first().is(second.first())
+	}
 }
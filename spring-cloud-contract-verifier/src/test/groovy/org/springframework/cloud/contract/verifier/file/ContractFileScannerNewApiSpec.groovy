@@ -63,6 +63,27 @@ class ContractFileScannerNewApiSpec extends Specification {
 			ignoredSet.ignored == [true]
 	}
 
+	def "should find contract files only in the given directories"() {
+		given:
+			FileSystemUtils.copyRecursively(
+					new File(this.getClass().getResource("/directory/with/stubs").toURI()),
+					tmpFolder)
+		and:
+			File baseDir = tmpFolder
+			Path other = baseDir.toPath().resolve("other")
+			ContractFileScanner scanner = ContractFileScanner.builder()
+					.baseDir(baseDir)
+					.excluded(["package/**"] as Set)
+					.ignored([] as Set)
+					.directories({ Path path -> path == other })
+					.build()
+		when:
+			MultiValueMap<Path, ContractMetadata> result = scanner.findContractsRecursively()
+		then:
+			result.keySet() == [other] as Set
+			result.get(other).size() == 2
+	}
+
 	def "should find contract files in strange directories"() {
 		given:
 			File baseDir = new File(this.getClass().getResource("/strange_[3.3.3]_directory").toURI())
@@ -22,9 +22,11 @@ import java.nio.file.Path
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
+import spock.lang.Unroll
 
 import org.springframework.cloud.contract.spec.Contract
 import org.springframework.cloud.contract.spec.ContractConverter
+import org.springframework.cloud.contract.spec.DirectoryContractConverter
 import org.springframework.util.FileSystemUtils
 import org.springframework.util.MultiValueMap
 
@@ -63,6 +65,24 @@ class ContractFileScannerSpec extends Specification {
 			ignoredSet.ignored == [true]
 	}
 
+	@Unroll
+	def "should find the same contract files in the same order when converting [#directory] in parallel"() {
+		given:
+			File baseDir = new File(this.getClass().getResource(directory).toURI())
+			ContractFileScanner sequential = ContractFileScanner.builder().baseDir(baseDir).build()
+			ContractFileScanner parallel = ContractFileScanner.builder().baseDir(baseDir).parallelism(4).build()
+		when:
+			MultiValueMap<Path, ContractMetadata> expected = sequential.findContractsRecursively()
+			MultiValueMap<Path, ContractMetadata> actual = parallel.findContractsRecursively()
+		then:
+			actual.keySet().toList() == expected.keySet().toList()
+			actual.values().flatten().collect { [it.path, it.order, it.groupSize] } == expected.values()
+				.flatten()
+				.collect { [it.path, it.order, it.groupSize] }
+		where:
+			directory << ["/directory/with/stubs", "/directory/with/scenario"]
+	}
+
 	def "should find contract files in strange directories"() {
 		given:
 			File baseDir = new File(this.getClass().getResource("/strange_[3.3.3]_directory").toURI())
@@ -133,6 +153,57 @@ class ContractFileScannerSpec extends Specification {
 			e.message.matches(".*Failed to convert file .*invalid.json.*")
 	}
 
+	def "should convert all files of a directory at once with a directory converter"() {
+		given:
+			new File(tmpFolder, "a").mkdirs()
+			new File(tmpFolder, "b").mkdirs()
+			["a/1.batch", "a/2.batch", "b/3.batch"].each { new File(tmpFolder, it).text = "" }
+			List<List<String>> batches = []
+			ContractFileScanner scanner = new ContractFileScanner(tmpFolder, null, null, null, null) {
+				@Override
+				protected List<ContractConverter> converters() {
+					return [new DirectoryContractConverter() {
+						@Override
+						boolean isAccepted(File file) {
+							return file.name.endsWith(".batch")
+						}
+
+						@Override
+						Collection<Contract> convertFrom(File file) {
+							throw new UnsupportedOperationException("Should convert the whole directory")
+						}
+
+						@Override
+						Map<File, Collection<Contract>> convertFrom(List<File> files) {
+							batches << files*.name
+							return files.collectEntries { File file ->
+								[(file): [Contract.make {
+									name(file.name)
+									request {
+										method "GET"
+										url "/" + file.name
+									}
+									response {
+										status OK()
+									}
+								}]]
+							}
+						}
+
+						@Override
+						Object convertTo(Collection contract) {
+							return contract
+						}
+					}]
+				}
+			}
+		when:
+			MultiValueMap<Path, ContractMetadata> result = scanner.findContractsRecursively()
+		then:
+			batches == [["1.batch", "2.batch"], ["3.batch"]]
+			result.values().flatten().collectMany { it.convertedContract*.name } == ["1.batch", "2.batch", "3.batch"]
+	}
+
 	def "should prefer custom yaml converter over standard yaml converter"() {
 		given:
 			File baseDir = new File(this.getClass().getResource("/directory/with/custom/yml").toURI())
@@ -202,4 +273,47 @@ class ContractFileScannerSpec extends Specification {
 			result.get(baseDir.toPath().resolve("coupon-sent")) == null
 			result.get(baseDir.toPath().resolve("reward-rules")) == null
 	}
+
+	def "should compile the contracts again when a helper class of their folder changes"() {
+		given:
+			File cacheDir = tmp.newFolder("compiled")
+			tmpFolder.mkdirs()
+			File helper = new File(tmpFolder, "Helper.groovy")
+			helper.text = "class Helper { static String url() { '/foo' } }"
+			new File(tmpFolder, "contract.groovy").text = """
+				org.springframework.cloud.contract.spec.Contract.make {
+					request {
+						method 'GET'
+						url Helper.url()
+					}
+					response {
+						status OK()
+					}
+				}
+			"""
+			ContractFileScanner scanner = ContractFileScanner.builder()
+				.baseDir(tmpFolder)
+				.excluded(["Helper.groovy"] as Set)
+				.compiledContractsCacheDir(cacheDir)
+				.build()
+		when:
+			List<String> urls = urls(scanner.findContractsRecursively())
+		then:
+			urls == ["/foo"]
+			cacheDir.listFiles().length == 1
+		when:
+			helper.text = "class Helper { static String url() { '/bar' } }"
+			helper.lastModified = helper.lastModified() + 10_000
+			urls = urls(scanner.findContractsRecursively())
+		then:
+			urls == ["/bar"]
+			cacheDir.listFiles().length == 2
+	}
+
+	private static List<String> urls(MultiValueMap<Path, ContractMetadata> result) {
+		return result.values().flatten().collectMany { ContractMetadata metadata ->
+			metadata.convertedContract.collect { it.request.url.clientValue as String }
+		}
+	}
+
 }
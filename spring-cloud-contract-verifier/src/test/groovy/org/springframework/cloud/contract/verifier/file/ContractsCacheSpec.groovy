@@ -0,0 +1,206 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.file
+
+import groovy.io.FileType
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import org.springframework.cloud.contract.spec.Contract
+import org.springframework.cloud.contract.verifier.TestGenerator
+import org.springframework.cloud.contract.verifier.config.ContractVerifierConfigProperties
+import org.springframework.util.FileSystemUtils
+
+class ContractsCacheSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def 'should reuse contracts evaluated by another scan until a file of the contracts directory changes'() {
+		given:
+			File contracts = folder.newFolder("contracts")
+			File contractFile = new File(contracts, "shouldFoo.groovy")
+			contractFile.text = "contract"
+			File body = new File(contracts, "body.json")
+			body.text = '{"foo":"bar"}'
+			File cacheDir = folder.newFolder("cache")
+			Contract contract = Contract.make {
+				name "should_foo"
+				request {
+					method GET()
+					url "/foo"
+				}
+				response {
+					status OK()
+					body(foo: "bar")
+				}
+			}
+		when:
+			new ContractsCache(cacheDir, contracts).get(contractFile, { [contract] })
+			Collection<Contract> cached = new ContractsCache(cacheDir, contracts).get(contractFile, {
+				throw new AssertionError("Should not evaluate the contract again")
+			})
+		then:
+			cached.size() == 1
+			cached.first().name == "should_foo"
+			cached.first().request.url.clientValue == "/foo"
+			cached.first().response.body.clientValue.toString().contains("bar")
+		when:
+			body.text = '{"foo":"baz"}'
+			int evaluations = 0
+			new ContractsCache(cacheDir, contracts).get(contractFile, { evaluations++; [contract] })
+		then:
+			evaluations == 1
+		when:
+			File otherDirectory = new File(contracts, "other")
+			otherDirectory.mkdirs()
+			new File(otherDirectory, "Helper.groovy").text = "class Helper {}"
+			new ContractsCache(cacheDir, contracts).get(contractFile, { evaluations++; [contract] })
+		then:
+			evaluations == 2
+	}
+
+	def 'should delete the entries of the previous states of the contracts directory'() {
+		given:
+			File contracts = folder.newFolder("contracts")
+			File contractFile = new File(contracts, "shouldFoo.groovy")
+			contractFile.text = "contract"
+			File cacheDir = folder.newFolder("cache")
+			Contract contract = Contract.make {
+				request {
+					method GET()
+					url "/foo"
+				}
+				response {
+					status OK()
+				}
+			}
+			new ContractsCache(cacheDir, contracts).get(contractFile, { [contract] })
+		when:
+			contractFile.text = "changed contract"
+			new ContractsCache(cacheDir, contracts).get(contractFile, { [contract] })
+		then:
+			List<File> entries = []
+			cacheDir.eachFileRecurse(FileType.FILES) { entries << it }
+			entries.size() == 1
+			!entries.first().name.startsWith(".staging-")
+	}
+
+	def 'should keep the entries of scans with a different classpath'() {
+		given:
+			File contracts = folder.newFolder("contracts")
+			File contractFile = new File(contracts, "shouldFoo.groovy")
+			contractFile.text = "contract"
+			File cacheDir = folder.newFolder("cache")
+			Contract contract = Contract.make {
+				request {
+					method GET()
+					url "/foo"
+				}
+				response {
+					status OK()
+				}
+			}
+			ClassLoader classLoader = Thread.currentThread().contextClassLoader
+			URLClassLoader otherClasspath = new URLClassLoader([folder.newFolder("classes").toURI().toURL()] as URL[],
+					classLoader)
+		when:
+			new ContractsCache(cacheDir, contracts).get(contractFile, { [contract] })
+			Thread.currentThread().contextClassLoader = otherClasspath
+			try {
+				new ContractsCache(cacheDir, contracts).get(contractFile, { [contract] })
+			}
+			finally {
+				Thread.currentThread().contextClassLoader = classLoader
+			}
+			int evaluations = 0
+			new ContractsCache(cacheDir, contracts).get(contractFile, { evaluations++; [contract] })
+		then:
+			evaluations == 0
+			List<File> entries = []
+			cacheDir.eachFileRecurse(FileType.FILES) { entries << it }
+			entries.size() == 2
+		cleanup:
+			otherClasspath?.close()
+	}
+
+	def 'should not cache contracts that are not the same when read back from YAML'() {
+		given:
+			File contracts = folder.newFolder("contracts")
+			File contractFile = new File(contracts, "shouldFoo.groovy")
+			contractFile.text = "contract"
+			File cacheDir = folder.newFolder("cache")
+			Contract contract = Contract.make {
+				request {
+					method GET()
+					url "/foo"
+				}
+				response {
+					status OK()
+					body(foo: $(c(regex("[a-z]+")), p("bar")))
+				}
+			}
+			int evaluations = 0
+		when:
+			new ContractsCache(cacheDir, contracts).get(contractFile, { evaluations++; [contract] })
+			Collection<Contract> contractsFromSecondScan = new ContractsCache(cacheDir, contracts).get(contractFile, {
+				evaluations++; [contract]
+			})
+		then:
+			evaluations == 2
+			contractsFromSecondScan == [contract]
+	}
+
+	def 'should generate the same tests from cached contracts as from evaluated ones'() {
+		given:
+			File contracts = folder.newFolder("contracts")
+			["/directory/with/stubs", "/directory/with/scenario", "/directory/with/dynamic", "/classpath"].each {
+				File fixture = new File(ContractsCacheSpec.getResource(it).toURI())
+				FileSystemUtils.copyRecursively(fixture, new File(contracts, fixture.name))
+			}
+			File cacheDir = folder.newFolder("cache")
+		when:
+			Map<String, String> evaluated = generateTests(contracts, null, "evaluated")
+			Map<String, String> cached = generateTests(contracts, cacheDir, "cached")
+			Map<String, String> readFromCache = generateTests(contracts, cacheDir, "read-from-cache")
+		then:
+			!evaluated.isEmpty()
+			cached == evaluated
+			readFromCache == evaluated
+		and:
+			List<File> entries = []
+			cacheDir.eachFileRecurse(FileType.FILES) { entries << it }
+			!entries.isEmpty()
+	}
+
+	private Map<String, String> generateTests(File contracts, File cacheDir, String name) {
+		File output = folder.newFolder(name)
+		ContractVerifierConfigProperties properties = new ContractVerifierConfigProperties()
+		properties.contractsDslDir = contracts
+		properties.generatedTestSourcesDir = new File(output, "sources")
+		properties.generatedTestResourcesDir = new File(output, "resources")
+		properties.contractsCacheDir = cacheDir
+		new TestGenerator(properties).generate()
+		Map<String, String> generated = new TreeMap<>()
+		output.eachFileRecurse(FileType.FILES) {
+			generated.put(output.toPath().relativize(it.toPath()).toString(), it.text)
+		}
+		return generated
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.messaging
+
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+import org.springframework.cloud.contract.verifier.converter.YamlContract
+
+class MessageVerifierReceiverSpec extends Specification {
+
+	def "should receive up to the given number of messages"() {
+		given:
+			QueueReceiver receiver = new QueueReceiver(["a", "b", "c"])
+		expect:
+			receiver.receiveAll("foo", 2, 1, TimeUnit.SECONDS) == ["a", "b"]
+			receiver.receiveAll("foo", 2, 1, TimeUnit.SECONDS) == ["c"]
+	}
+
+	def "should return no messages when the timeout is not positive"() {
+		given:
+			QueueReceiver receiver = new QueueReceiver(["a"])
+		expect:
+			receiver.receiveAll("foo", 1, 0, TimeUnit.SECONDS).isEmpty()
+	}
+
+	static class QueueReceiver implements MessageVerifierReceiver<String> {
+
+		final BlockingQueue<String> queue
+
+		QueueReceiver(List<String> messages) {
+			this.queue = new LinkedBlockingQueue<>(messages)
+		}
+
+		@Override
+		String receive(String destination, long timeout, TimeUnit timeUnit, YamlContract contract) {
+			return this.queue.poll(timeout, timeUnit)
+		}
+
+		@Override
+		String receive(String destination, YamlContract contract) {
+			return receive(destination, 5, TimeUnit.SECONDS, contract)
+		}
+
+	}
+
+}
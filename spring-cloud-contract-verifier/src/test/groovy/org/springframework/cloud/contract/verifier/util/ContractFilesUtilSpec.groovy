@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util
+
+import java.nio.file.Path
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ContractFilesUtilSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	@Unroll
+	def "should tell if [#name] is a contract"() {
+		given:
+			Path file = folder.newFile(name).toPath()
+			file.text = content
+		expect:
+			ContractFilesUtil.isContract(file) == contract
+			ContractFilesUtil.isContract(file, content.bytes) == contract
+		where:
+			name                | content                                                               || contract
+			"shouldFoo.yml"     | "request:\n  method: GET\n  url: /foo\nresponse:\n  status: 200\n"    || true
+			"shouldFoo.yaml"    | "label: foo\ninput:\n  triggeredBy: foo()\n"                          || true
+			"shouldFoo.yml"     | "outputMessage:\n  sentTo: foo\n"                                     || true
+			"body.yml"          | "foo:\n  request: bar\n"                                               || false
+			"shouldFoo.groovy"  | "org.springframework.cloud.contract.spec.Contract.make {\n}\n"        || true
+			"shouldFoo.kts"     | "import org.springframework.cloud.contract.spec.ContractDsl.Companion.contract\ncontract {\n}\n" || true
+			"Helper.groovy"     | "class Helper { static String URL = '/foo' }\n"                       || false
+			"body.json"         | "{\"request\": \"Contract.make\"}"                                    || false
+	}
+
+}
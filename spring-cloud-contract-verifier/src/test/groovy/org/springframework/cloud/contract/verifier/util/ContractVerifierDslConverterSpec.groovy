@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.contract.verifier.util
 
+import java.nio.file.Files
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 
 import org.springframework.cloud.contract.spec.Contract
@@ -25,6 +29,9 @@ import org.springframework.cloud.contract.spec.Contract
  */
 class ContractVerifierDslConverterSpec extends Specification {
 
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
 	URL single = ContractVerifierDslConverterSpec.getResource("/contract.groovy")
 	File singleContract = new File(single.toURI())
 	URL singleJava = ContractVerifierDslConverterSpec.getResource("/contractsToCompile/contract.java")
@@ -219,4 +226,139 @@ class ContractVerifierDslConverterSpec extends Specification {
 		then:
 			contract == [expectedSingleContractForText]
 	}
+
+	def "should convert file to a list of Contracts from the compiled contracts cache"() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			System.setProperty(CompiledContractsCache.CACHE_DIR_SYSTEM_PROP, cacheDir.absolutePath)
+			File rootFolder = folder.newFolder("root")
+			File contract = new File(rootFolder, singleContract.name)
+			contract.text = singleContract.text
+		when:
+			Collection<Contract> compiled = ContractVerifierDslConverter.convertAsCollection(rootFolder, contract)
+			Collection<Contract> cached = ContractVerifierDslConverter.convertAsCollection(rootFolder, contract)
+		then:
+			compiled == [expectedSingleContract]
+			cached == [expectedSingleContract]
+			Files.list(cacheDir.toPath()).count() == 1
+		cleanup:
+			System.clearProperty(CompiledContractsCache.CACHE_DIR_SYSTEM_PROP)
+	}
+
+	def "should convert file to a list of Contracts from the compiled contracts cache of the given directory"() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			File rootFolder = folder.newFolder("root")
+			File contract = new File(rootFolder, singleContract.name)
+			contract.text = singleContract.text
+		when:
+			Collection<Contract> compiled = ContractVerifierDslConverter.convertAsCollection(rootFolder, rootFolder, contract,
+					cacheDir)
+			Collection<Contract> cached = ContractVerifierDslConverter.convertAsCollection(rootFolder, rootFolder, contract,
+					cacheDir)
+		then:
+			compiled == [expectedSingleContract]
+			cached == [expectedSingleContract]
+			Files.list(cacheDir.toPath()).count() == 1
+	}
+
+	def "should convert contracts with a changed helper class after the sources were refreshed"() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			File contractsDirectory = folder.newFolder("contracts")
+			File rootFolder = new File(contractsDirectory, "foo")
+			rootFolder.mkdirs()
+			File helper = new File(rootFolder, "Urls.groovy")
+			helper.text = "class Urls { static String FOO = '/1' }"
+			File contract = new File(rootFolder, "shouldFoo.groovy")
+			contract.text = '''
+				org.springframework.cloud.contract.spec.Contract.make {
+					request {
+						method GET()
+						url Urls.FOO
+					}
+					response {
+						status OK()
+					}
+				}
+			'''
+		when:
+			Collection<Contract> contracts = ContractVerifierDslConverter.convertAsCollection(contractsDirectory,
+					rootFolder, contract, cacheDir)
+		then:
+			contracts.first().request.url.clientValue == "/1"
+		when:
+			helper.text = "class Urls { static String FOO = '/2' }"
+			ContractVerifierDslConverter.refreshSourcesHashes()
+			contracts = ContractVerifierDslConverter.convertAsCollection(contractsDirectory, rootFolder, contract,
+					cacheDir)
+		then:
+			contracts.first().request.url.clientValue == "/2"
+	}
+
+	def "should recompile only the changed contract and delete its previous compilation"() {
+		given:
+			File cacheDir = folder.newFolder("cache")
+			File contractsDirectory = folder.newFolder("contracts")
+			File rootFolder = new File(contractsDirectory, "foo")
+			rootFolder.mkdirs()
+			File foo = new File(rootFolder, "shouldFoo.groovy")
+			foo.text = groovyContract("/foo")
+			File bar = new File(rootFolder, "shouldBar.groovy")
+			bar.text = groovyContract("/bar")
+		and:
+			ContractVerifierDslConverter.convertAsCollection(contractsDirectory, rootFolder, foo, cacheDir)
+			ContractVerifierDslConverter.convertAsCollection(contractsDirectory, rootFolder, bar, cacheDir)
+			List<String> entries = compiledContracts(cacheDir)
+		when:
+			foo.text = groovyContract("/changed-foo")
+			ContractVerifierDslConverter.refreshSourcesHashes()
+			Collection<Contract> contracts = ContractVerifierDslConverter.convertAsCollection(contractsDirectory,
+					rootFolder, foo, cacheDir)
+			ContractVerifierDslConverter.convertAsCollection(contractsDirectory, rootFolder, bar, cacheDir)
+		then:
+			contracts.first().request.url.clientValue == "/changed-foo"
+			List<String> newEntries = compiledContracts(cacheDir)
+			newEntries.size() == 2
+			(newEntries - entries).size() == 1
+	}
+
+	private static String groovyContract(String url) {
+		return """
+				org.springframework.cloud.contract.spec.Contract.make {
+					request {
+						method GET()
+						url "${url}"
+					}
+					response {
+						status OK()
+					}
+				}
+			"""
+	}
+
+	private static List<String> compiledContracts(File cacheDir) {
+		List<File> states = cacheDir.listFiles().collectMany { it.listFiles().toList() }
+		assert states.size() == 1
+		return states.first().list().findAll { !it.startsWith(".staging-") }.sort()
+	}
+
+	def "should recompile a java contract when it was modified"() {
+		given:
+			File rootFolder = folder.newFolder("contracts")
+			File contract = new File(rootFolder, "contract.java")
+			contract.text = singleContractJava.text
+			new File(rootFolder, "contract_rest.java").text = singleContractRestJava.text
+		when:
+			Collection<Contract> contracts = ContractVerifierDslConverter.convertAsCollection(rootFolder, contract)
+		then:
+			contracts.first().request.url.clientValue == "/1"
+		when:
+			contract.text = contract.text.replace('r.url("/1")', 'r.url("/2")')
+			contract.lastModified = contract.lastModified() + 1000
+			contracts = ContractVerifierDslConverter.convertAsCollection(rootFolder, contract)
+		then:
+			contracts.first().request.url.clientValue == "/2"
+	}
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.contract.verifier.util
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class JavaContractsCompilerSpec extends Specification {
+
+	@Rule
+	TemporaryFolder folder = new TemporaryFolder()
+
+	def "should compile the remaining contracts together once when one of them is broken"() {
+		given:
+			File rootFolder = folder.newFolder("contracts")
+			File first = javaFile(rootFolder, "First", "public class First { }")
+			File broken = javaFile(rootFolder, "Broken", "public class Broken { not java }")
+			File second = javaFile(rootFolder, "Second", "public class Second { }")
+			JavaContractsCompiler compiler = new JavaContractsCompiler(rootFolder, getClass().getClassLoader())
+		when:
+			Class<?> firstClass = compiler.contractClass(first)
+			Class<?> secondClass = compiler.contractClass(second)
+		then:
+			firstClass.name == "First"
+			secondClass.name == "Second"
+			firstClass.classLoader.is(secondClass.classLoader)
+		when:
+			compiler.contractClass(broken)
+		then:
+			thrown(IllegalStateException)
+		when:
+			broken.text = "public class Broken { }"
+			broken.setLastModified(broken.lastModified() + 1000)
+		then:
+			compiler.contractClass(broken).name == "Broken"
+	}
+
+	private static File javaFile(File rootFolder, String name, String content) {
+		File file = new File(rootFolder, name + ".java")
+		file.text = content
+		return file.absoluteFile
+	}
+
+}
@@ -29,6 +29,8 @@ import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import org.springframework.cloud.contract.verifier.converter.YamlContract;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -202,6 +204,20 @@ public class ContractVerifierUtilTest {
 		assertThat(ContractVerifierUtil.fromRelativePath("foo.yml")).isEqualTo("foo.yml");
 	}
 
+	@Test
+	public void shouldReturnANewContractForEachCall() {
+		// Given
+		YamlContract first = ContractVerifierUtil.contract(this, "validate_send_foo()");
+		first.metadata.put("foo", "bar");
+		// When
+		YamlContract second = ContractVerifierUtil.contract(this, "validate_send_foo()");
+		// Then
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.label).isEqualTo("send_foo");
+		assertThat(second.outputMessage.sentTo).isEqualTo("foo");
+		assertThat(second.metadata).doesNotContainKey("foo");
+	}
+
 	private Document parsedXml(String inputXml) {
 		DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
 		builderFactory.setNamespaceAware(true);
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.springframework.cloud.contract.spec.Contract
+
+Contract.make {
+	request {
+		method(PUT())
+		url($(consumer(regex('/api/[0-9]{2}')), producer('/api/12')))
+		headers {
+			contentType(applicationJson())
+		}
+		body(
+				id: $(consumer(regex('[0-9]{5}')), producer('12345')),
+				name: "foo"
+		)
+		bodyMatchers {
+			jsonPath('$.name', byRegex('[a-z]+'))
+		}
+	}
+	response {
+		status(OK())
+		headers {
+			contentType(applicationJson())
+		}
+		body(
+				id: fromRequest().body('$.id'),
+				name: $(consumer(regex('[a-z]+')), producer('foo')),
+				surname: $(consumer('bar'), producer(regex('[a-z]+'))),
+				createdAt: $(consumer('2020-01-01'), producer(execute('assertThatDateIsValid($it)')))
+		)
+		bodyMatchers {
+			jsonPath('$.surname', byRegex('[a-z]+'))
+		}
+	}
+}